@@ -0,0 +1,62 @@
+package com.core.hw1.benchmark;
+
+import com.core.hw1.enumeration.Rating;
+import com.core.hw1.enumeration.SpecialFeature;
+import com.core.hw1.model.Film;
+import com.core.hw1.model.Language;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+// Deterministic sample rows shaped like the sakila film table.
+final class BenchmarkFixtures {
+
+    static final String[] SPECIAL_FEATURE_COLUMNS = {
+            "Trailers",
+            "Commentaries,Deleted Scenes",
+            "Trailers,Commentaries,Behind the Scenes",
+            "Trailers,Commentaries,Deleted Scenes,Behind the Scenes",
+            "Deleted Scenes,Behind the Scenes"
+    };
+
+    static final String[] RATING_COLUMNS = {"G", "PG", "PG-13", "R", "NC-17"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<Film> films(int count) {
+        Language english = new Language();
+        english.setId((byte) 1);
+        english.setName("English");
+        Rating[] ratings = Rating.values();
+        SpecialFeature[] features = SpecialFeature.values();
+
+        List<Film> films = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            EnumSet<SpecialFeature> specialFeatures = EnumSet.noneOf(SpecialFeature.class);
+            for (int f = 0; f < features.length; f++) {
+                if (((i + 1) & (1 << f)) != 0) {
+                    specialFeatures.add(features[f]);
+                }
+            }
+            films.add(Film.builder()
+                    .id((short) (i + 1))
+                    .title("ACADEMY DINOSAUR " + i)
+                    .description("A Epic Drama of a Feminist And a Mad Scientist who must Battle a Teacher in The Canadian Rockies")
+                    .releaseYear(2006)
+                    .language(english)
+                    .rentalDuration((byte) 6)
+                    .rentalRate(new BigDecimal("0.99"))
+                    .length(86 + i % 100)
+                    .replacementCost(new BigDecimal("20.99"))
+                    .rating(ratings[i % ratings.length])
+                    .specialFeatures(specialFeatures)
+                    .lastUpdate(Instant.parse("2006-02-15T05:03:42Z"))
+                    .build());
+        }
+        return films;
+    }
+}
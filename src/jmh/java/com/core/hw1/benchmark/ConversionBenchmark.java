@@ -0,0 +1,96 @@
+package com.core.hw1.benchmark;
+
+import com.core.hw1.enumeration.Rating;
+import com.core.hw1.enumeration.SpecialFeature;
+import com.core.hw1.model.converter.RatingConverter;
+import com.core.hw1.model.converter.SpecialFeatureSetConverter;
+import com.core.hw1.model.converter.StringToRatingConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Column conversions that run once per row read or written through JPA or the bulk importer.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConversionBenchmark {
+
+    private final SpecialFeatureSetConverter specialFeatureSetConverter = new SpecialFeatureSetConverter();
+    private final RatingConverter ratingConverter = new RatingConverter();
+    private final StringToRatingConverter stringToRatingConverter = new StringToRatingConverter();
+
+    private String[] featureColumns;
+    private String[] ratingColumns;
+    private String[] ratingParams;
+    private String[] featureValues;
+    private Set<SpecialFeature>[] featureSets;
+    private int index;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        featureColumns = BenchmarkFixtures.SPECIAL_FEATURE_COLUMNS;
+        ratingColumns = BenchmarkFixtures.RATING_COLUMNS;
+        // Path variables as clients send them, e.g. /search/rating/pg-13
+        ratingParams = new String[]{"g", "PG", "pg-13", "R", "nc-17"};
+        featureValues = new String[SpecialFeature.values().length];
+        for (SpecialFeature feature : SpecialFeature.values()) {
+            featureValues[feature.ordinal()] = feature.getValue();
+        }
+        featureSets = new Set[featureColumns.length];
+        for (int i = 0; i < featureColumns.length; i++) {
+            featureSets[i] = specialFeatureSetConverter.convertToEntityAttribute(featureColumns[i]);
+        }
+    }
+
+    private int next(int length) {
+        int i = index++;
+        if (index == Integer.MAX_VALUE) {
+            index = 0;
+        }
+        return i % length;
+    }
+
+    @Benchmark
+    public Set<SpecialFeature> specialFeaturesToEntity() {
+        return specialFeatureSetConverter.convertToEntityAttribute(featureColumns[next(featureColumns.length)]);
+    }
+
+    @Benchmark
+    public String specialFeaturesToColumn() {
+        return specialFeatureSetConverter.convertToDatabaseColumn(featureSets[next(featureSets.length)]);
+    }
+
+    @Benchmark
+    public Rating ratingToEntity() {
+        return ratingConverter.convertToEntityAttribute(ratingColumns[next(ratingColumns.length)]);
+    }
+
+    @Benchmark
+    public Rating ratingFromValue() {
+        return Rating.fromValue(ratingColumns[next(ratingColumns.length)]);
+    }
+
+    @Benchmark
+    public SpecialFeature specialFeatureFromValue() {
+        return SpecialFeature.fromValue(featureValues[next(featureValues.length)]);
+    }
+
+    @Benchmark
+    public Rating stringToRatingConverter() {
+        return stringToRatingConverter.convert(ratingParams[next(ratingParams.length)]);
+    }
+}
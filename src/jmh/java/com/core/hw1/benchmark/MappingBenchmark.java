@@ -0,0 +1,69 @@
+package com.core.hw1.benchmark;
+
+import com.core.hw1.mapper.FilmMapper;
+import com.core.hw1.model.Film;
+import com.core.hw1.viewmodel.FilmRequestVm;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity-to-view mapping and JSON serialization of a list page, the per-request CPU cost of the list endpoints.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({"20", "1000"})
+    private int rows;
+
+    // mapToFilmRequestVm never touches the repositories.
+    private final FilmMapper filmMapper = new FilmMapper(null, null);
+    // Same defaults Spring Boot applies to the MVC message converter.
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<Film> films;
+    private List<FilmRequestVm> filmVms;
+
+    @Setup
+    public void setUp() {
+        films = BenchmarkFixtures.films(rows);
+        filmVms = mapFilms();
+    }
+
+    @Benchmark
+    public List<FilmRequestVm> mapFilms() {
+        List<FilmRequestVm> result = new ArrayList<>(films.size());
+        for (Film film : films) {
+            result.add(filmMapper.mapToFilmRequestVm(film));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeFilms() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(filmVms);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeFilms() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapFilms());
+    }
+}
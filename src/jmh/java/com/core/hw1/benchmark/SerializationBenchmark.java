@@ -0,0 +1,86 @@
+package com.core.hw1.benchmark;
+
+import com.core.hw1.mapper.FilmMapper;
+import com.core.hw1.model.Film;
+import com.core.hw1.viewmodel.FilmRequestVm;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Encoding cost of one list page per wire format; the payload sizes are printed after each trial.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int rows;
+
+    // Same builders MessageConverterConfig uses.
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+    private final ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+
+    private List<FilmRequestVm> filmVms;
+
+    @Setup
+    public void setUp() {
+        FilmMapper filmMapper = new FilmMapper(null, null);
+        filmVms = new ArrayList<>(rows);
+        for (Film film : BenchmarkFixtures.films(rows)) {
+            filmVms.add(filmMapper.mapToFilmRequestVm(film));
+        }
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return json.writeValueAsBytes(filmVms);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cbor.writeValueAsBytes(filmVms);
+    }
+
+    @Benchmark
+    public byte[] smile() throws IOException {
+        return smile.writeValueAsBytes(filmVms);
+    }
+
+    // What a page cache miss costs with gzip on top of JSON.
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            json.writeValue(gzip, filmVms);
+        }
+        return out.toByteArray();
+    }
+
+    @TearDown
+    public void printPayloadSizes() throws IOException {
+        System.out.printf("%n%d rows: json=%d cbor=%d smile=%d json+gzip=%d bytes%n", rows,
+                json().length, cbor().length, smile().length, jsonGzip().length);
+    }
+}
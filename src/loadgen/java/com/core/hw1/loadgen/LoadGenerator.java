@@ -0,0 +1,197 @@
+package com.core.hw1.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop load generator. Requests are scheduled at a constant arrival rate and each runs on its own virtual thread,
+// so a slow server cannot slow the sender down. Latency is measured from the scheduled send time rather than the
+// actual one, which keeps queueing delay in the percentiles instead of hiding it (coordinated omission).
+//
+//   ./mvnw -Pembedded spring-boot:run
+//   ./mvnw -Ploadgen verify -Dloadgen.args="--rate 200 --duration PT30S"
+//
+// Options:
+//   --url            base URL of the running instance (http://localhost:8088)
+//   --workload       workload file, or a workload on the classpath (workload.json); see Workload for the format
+//   --rate           requests per second (100)
+//   --duration       measured run time (PT30S)
+//   --warmup         time run before measuring starts (PT5S)
+//   --max-in-flight  outstanding requests; sends beyond this are counted as dropped (10000)
+//   --timeout        per-request timeout (PT10S)
+//   --json           also write the report to this file
+public final class LoadGenerator {
+
+    private static final String ALL_ROUTES = "ALL";
+
+    private final Options options;
+    private final Workload workload;
+    private final HttpClient client;
+    private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+    private final RouteStats allStats = new RouteStats();
+    private final LongAdder dropped = new LongAdder();
+
+    private LoadGenerator(Options options, Workload workload) {
+        this.options = options;
+        this.workload = workload;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        LoadGenerator generator = new LoadGenerator(options, Workload.load(options.workload()));
+        System.out.printf("Sending %.1f req/s to %s for %s (+%s warmup), workload %s%n",
+                options.rate(), options.url(), options.duration(), options.warmup(), options.workload());
+        generator.run();
+        generator.report();
+    }
+
+    private void run() {
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        double intervalNanos = 1e9 / options.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + (long) (i * intervalNanos);
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                boolean measured = scheduled >= measureFrom;
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        dropped.increment();
+                    }
+                    continue;
+                }
+                Workload.Operation operation = workload.pick();
+                executor.execute(() -> {
+                    try {
+                        send(operation, scheduled, measured);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void send(Workload.Operation operation, long scheduled, boolean measured) {
+        String outcome;
+        boolean error;
+        try {
+            int status = client.send(request(operation), HttpResponse.BodyHandlers.discarding()).statusCode();
+            outcome = String.valueOf(status);
+            error = status >= 500;
+        } catch (HttpTimeoutException ex) {
+            outcome = "timeout";
+            error = true;
+        } catch (IOException | IllegalArgumentException ex) {
+            // IllegalArgumentException: a rendered URI or header that HttpClient rejects.
+            outcome = ex.getClass().getSimpleName();
+            error = true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (measured) {
+            long latency = System.nanoTime() - scheduled;
+            stats.computeIfAbsent(operation.route(), route -> new RouteStats()).record(latency, outcome, error);
+            allStats.record(latency, outcome, error);
+        }
+    }
+
+    private HttpRequest request(Workload.Operation operation) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(options.url() + workload.renderUri(operation.path())))
+                .timeout(options.timeout());
+        if (operation.headers() != null) {
+            operation.headers().forEach((name, value) -> request.header(name, workload.render(value)));
+        }
+        String body = workload.render(operation.body());
+        return request.method(operation.method(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void report() throws IOException {
+        double seconds = options.duration().toNanos() / 1e9;
+        Map<String, RouteStats.Summary> summaries = new LinkedHashMap<>();
+        new TreeMap<>(stats).forEach((route, routeStats) -> summaries.put(route, routeStats.summarize(seconds)));
+        summaries.put(ALL_ROUTES, allStats.summarize(seconds));
+
+        System.out.printf("%n%-24s %8s %7s %9s %9s %9s %9s %9s %9s  %s%n",
+                "route", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "outcomes");
+        summaries.forEach((route, summary) -> System.out.printf("%-24s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                route, summary.count(), summary.errors(), summary.throughput(), summary.p50Ms(), summary.p90Ms(),
+                summary.p99Ms(), summary.p999Ms(), summary.maxMs(), summary.outcomes()));
+        System.out.printf("%nTarget %.1f req/s; %d sends dropped at --max-in-flight %d%n",
+                options.rate(), dropped.sum(), options.maxInFlight());
+
+        if (options.json() != null) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("url", options.url());
+            report.put("workload", options.workload());
+            report.put("targetRate", options.rate());
+            report.put("durationSeconds", seconds);
+            report.put("dropped", dropped.sum());
+            report.put("routes", summaries);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.json().toFile(), report);
+            System.out.println("Report written to " + options.json());
+        }
+    }
+
+    private record Options(String url, String workload, double rate, Duration duration, Duration warmup,
+                           int maxInFlight, Duration timeout, Path json) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < args.length; i++) {
+                if (!args[i].startsWith("--") || i + 1 == args.length) {
+                    throw new IllegalArgumentException("Expected --option value pairs, got " + args[i]);
+                }
+                values.put(args[i].substring(2), args[++i]);
+            }
+            Options options = new Options(
+                    values.getOrDefault("url", "http://localhost:8088"),
+                    values.getOrDefault("workload", "workload.json"),
+                    Double.parseDouble(values.getOrDefault("rate", "100")),
+                    Duration.parse(values.getOrDefault("duration", "PT30S")),
+                    Duration.parse(values.getOrDefault("warmup", "PT5S")),
+                    Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+                    Duration.parse(values.getOrDefault("timeout", "PT10S")),
+                    values.containsKey("json") ? Path.of(values.get("json")) : null);
+            if (options.rate() <= 0) {
+                throw new IllegalArgumentException("--rate must be positive");
+            }
+            return options;
+        }
+    }
+}
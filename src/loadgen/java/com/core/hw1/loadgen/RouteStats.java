@@ -0,0 +1,58 @@
+package com.core.hw1.loadgen;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Latencies and status codes for one route. Every sample is kept, which is fine for runs of a few million requests.
+final class RouteStats {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Integer> outcomes = new TreeMap<>();
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    // Latency runs from the scheduled send time, not the actual one (see LoadGenerator).
+    void record(long latencyNanos, String outcome, boolean error) {
+        lock.lock();
+        try {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            outcomes.merge(outcome, 1, Integer::sum);
+            if (error) {
+                errors++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Summary summarize(double seconds) {
+        lock.lock();
+        try {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Summary(count, errors, count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), count == 0 ? 0 : sorted[count - 1] / 1e6, new TreeMap<>(outcomes));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    record Summary(int count, int errors, double throughput, double p50Ms, double p90Ms, double p99Ms, double p999Ms,
+                   double maxMs, Map<String, Integer> outcomes) {
+    }
+}
@@ -0,0 +1,208 @@
+package com.core.hw1.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Cold-start comparison of the plain jar and the fast-startup build (Spring AOT + AppCDS, see the fast-startup Maven
+// profile). Each run starts a fresh JVM, polls the URL until it answers 2xx and records the time since the process was
+// launched and the resident set size at that moment. Runs alternate between the two builds so drift affects both.
+//
+//   ./mvnw -Pembedded,fast-startup package -Dcds.training.profiles=fast-startup,embedded
+//   ./mvnw -Pembedded,loadgen verify -Dloadgen.main=com.core.hw1.loadgen.StartupBenchmark -Dloadgen.args="--profiles embedded"
+//
+// The plain jar is the same artifact run without -Dspring.aot.enabled and the archive, i.e. the current build.
+//
+// Options:
+//   --jar        the Spring Boot jar (the only jar in target/)
+//   --cds-dir    the extracted fast-startup build (target/fast-startup)
+//   --profiles   extra Spring profiles for both builds, e.g. embedded (none)
+//   --url        polled until it answers 2xx (http://localhost:8088/api/v1/films/1)
+//   --runs       starts per build (5)
+//   --timeout    give up on a start after this long (PT2M)
+//   --json       also write the report to this file
+public final class StartupBenchmark {
+
+    private static final String ARCHIVE = "application.jsa";
+
+    private final Options options;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private StartupBenchmark(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new StartupBenchmark(Options.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        Path logs = Path.of("target", "startup-benchmark").toAbsolutePath();
+        Files.createDirectories(logs);
+        Map<String, Build> builds = new LinkedHashMap<>();
+        builds.put("plain", new Build(command(List.of(), options.jar(), options.profiles()), Path.of(".")));
+        // The archive records the class path relative to the extracted directory, so the JVM has to start there.
+        builds.put("fast-startup", new Build(command(
+                List.of("-XX:SharedArchiveFile=" + ARCHIVE, "-Dspring.aot.enabled=true"),
+                options.jar().getFileName(),
+                options.profiles().isEmpty() ? "fast-startup" : "fast-startup," + options.profiles()), options.cdsDir()));
+
+        Map<String, List<Sample>> samples = new LinkedHashMap<>();
+        builds.forEach((name, build) -> System.out.printf("%-13s (in %s) %s%n",
+                name, build.directory(), String.join(" ", build.command())));
+        for (int run = 1; run <= options.runs(); run++) {
+            for (Map.Entry<String, Build> build : builds.entrySet()) {
+                Sample sample = start(build.getValue(), logs.resolve(build.getKey() + "-" + run + ".log"));
+                samples.computeIfAbsent(build.getKey(), name -> new ArrayList<>()).add(sample);
+                System.out.printf("run %d %-13s first 2xx after %6d ms, RSS %5d MB%n",
+                        run, build.getKey(), sample.firstResponseMs(), sample.rssMb());
+            }
+        }
+        report(samples);
+    }
+
+    private List<String> command(List<String> jvmOptions, Path jar, String profiles) {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmOptions);
+        command.add("-jar");
+        command.add(jar.toString());
+        if (!profiles.isEmpty()) {
+            command.add("--spring.profiles.active=" + profiles);
+        }
+        return command;
+    }
+
+    private Sample start(Build build, Path log) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.url())).timeout(Duration.ofSeconds(5)).build();
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(build.command()).directory(build.directory().toFile())
+                .redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = launched + options.timeout().toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("The application exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status >= 200 && status < 300) {
+                        long elapsed = System.nanoTime() - launched;
+                        return new Sample(TimeUnit.NANOSECONDS.toMillis(elapsed), residentSetMb(process.pid()));
+                    }
+                } catch (IOException ex) {
+                    // Not listening yet.
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No 2xx from " + options.url() + " within " + options.timeout() + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // VmRSS from /proc, so Linux only; -1 elsewhere.
+    private static long residentSetMb(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> Long.parseLong(line.replaceAll("\\D", "")) / 1024)
+                    .findFirst()
+                    .orElse(-1L);
+        }
+    }
+
+    private void report(Map<String, List<Sample>> samples) throws IOException {
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        samples.forEach((build, runs) -> summaries.put(build, Summary.of(runs)));
+
+        System.out.printf("%n%-13s %5s %12s %12s %12s %12s%n", "build", "runs", "min ms", "median ms", "max ms", "median RSS MB");
+        summaries.forEach((build, summary) -> System.out.printf("%-13s %5d %12d %12d %12d %12d%n", build, summary.runs(),
+                summary.minMs(), summary.medianMs(), summary.maxMs(), summary.medianRssMb()));
+
+        if (options.json() != null) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("url", options.url());
+            report.put("profiles", options.profiles());
+            report.put("builds", summaries);
+            report.put("samples", samples);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.json().toFile(), report);
+            System.out.println("Report written to " + options.json());
+        }
+    }
+
+    private record Build(List<String> command, Path directory) {
+    }
+
+    record Sample(long firstResponseMs, long rssMb) {
+    }
+
+    record Summary(int runs, long minMs, long medianMs, long maxMs, long medianRssMb) {
+
+        static Summary of(List<Sample> samples) {
+            long[] times = samples.stream().mapToLong(Sample::firstResponseMs).sorted().toArray();
+            long[] rss = samples.stream().mapToLong(Sample::rssMb).sorted().toArray();
+            return new Summary(times.length, times[0], times[times.length / 2], times[times.length - 1], rss[rss.length / 2]);
+        }
+    }
+
+    private record Options(Path jar, Path cdsDir, String profiles, String url, int runs, Duration timeout, Path json) {
+
+        static Options parse(String[] args) throws IOException {
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < args.length; i++) {
+                if (!args[i].startsWith("--") || i + 1 == args.length) {
+                    throw new IllegalArgumentException("Expected --option value pairs, got " + args[i]);
+                }
+                values.put(args[i].substring(2), args[++i]);
+            }
+            Options options = new Options(
+                    values.containsKey("jar") ? Path.of(values.get("jar")) : bootJar(),
+                    Path.of(values.getOrDefault("cds-dir", "target/fast-startup")),
+                    values.getOrDefault("profiles", ""),
+                    values.getOrDefault("url", "http://localhost:8088/api/v1/films/1"),
+                    Integer.parseInt(values.getOrDefault("runs", "5")),
+                    Duration.parse(values.getOrDefault("timeout", "PT2M")),
+                    values.containsKey("json") ? Path.of(values.get("json")) : null);
+            if (options.runs() <= 0) {
+                throw new IllegalArgumentException("--runs must be positive");
+            }
+            if (!Files.exists(options.cdsDir().resolve(ARCHIVE))) {
+                throw new IllegalArgumentException("No " + ARCHIVE + " in " + options.cdsDir() + ", build with -Pfast-startup first");
+            }
+            return options;
+        }
+
+        private static Path bootJar() throws IOException {
+            try (Stream<Path> files = Files.list(Path.of("target"))) {
+                Path[] jars = files.filter(file -> file.getFileName().toString().endsWith(".jar")).toArray(Path[]::new);
+                if (jars.length != 1) {
+                    throw new IllegalArgumentException("Expected one jar in target/, found " + Arrays.toString(jars) + "; use --jar");
+                }
+                return jars[0];
+            }
+        }
+    }
+}
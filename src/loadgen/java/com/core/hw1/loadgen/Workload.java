@@ -0,0 +1,121 @@
+package com.core.hw1.loadgen;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// A weighted mix of HTTP operations read from JSON. Paths, headers and bodies may contain {name} placeholders that
+// are replaced per request by a random value of the named variable, or by a unique number for {seq}:
+//
+//   {
+//     "variables": {"film": {"min": 1, "max": 1000}, "rating": {"values": ["G", "PG"]}},
+//     "operations": [
+//       {"route": "films.get", "weight": 10, "method": "GET", "path": "/api/v1/films/{film}"},
+//       {"route": "films.create", "weight": 1, "method": "POST", "path": "/api/v1/films",
+//        "headers": {"Content-Type": "application/json"}, "body": "{\"title\": \"LOAD {seq}\", ...}"}
+//     ]
+//   }
+record Workload(Map<String, Variable> variables, List<Operation> operations) {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\w+)}");
+    private static final String SEQUENCE = "seq";
+    private static final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() % 1_000_000);
+
+    record Variable(Long min, Long max, List<String> values) {
+
+        String next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (values != null && !values.isEmpty()) {
+                return values.get(random.nextInt(values.size()));
+            }
+            return String.valueOf(random.nextLong(min, max + 1));
+        }
+    }
+
+    record Operation(String route, int weight, String method, String path, Map<String, String> headers, String body) {
+    }
+
+    // A file path, or the name of a workload on the classpath such as the bundled "workload.json".
+    static Workload load(String location) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        Path path = Path.of(location);
+        if (Files.exists(path)) {
+            return objectMapper.readValue(path.toFile(), Workload.class).validate();
+        }
+        try (InputStream in = Workload.class.getClassLoader().getResourceAsStream(location)) {
+            if (in == null) {
+                throw new IOException("Workload not found: " + location);
+            }
+            return objectMapper.readValue(in, Workload.class).validate();
+        }
+    }
+
+    private Workload validate() {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("The workload has no operations");
+        }
+        for (Operation operation : operations) {
+            if (operation.weight() <= 0) {
+                throw new IllegalArgumentException("Weight of " + operation.route() + " must be positive");
+            }
+        }
+        return this;
+    }
+
+    Operation pick() {
+        int total = 0;
+        for (Operation operation : operations) {
+            total += operation.weight();
+        }
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Operation operation : operations) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    String render(String template) {
+        return render(template, false);
+    }
+
+    // Values are percent-encoded, so e.g. "database administrator" can be used in a query string.
+    String renderUri(String template) {
+        return render(template, true);
+    }
+
+    private String render(String template, boolean encode) {
+        if (template == null) {
+            return null;
+        }
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder rendered = new StringBuilder();
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            Variable variable = variables != null ? variables.get(name) : null;
+            String value = SEQUENCE.equals(name) ? String.valueOf(sequence.incrementAndGet())
+                    : variable != null ? variable.next()
+                    : matcher.group();
+            if (encode) {
+                value = URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+            }
+            matcher.appendReplacement(rendered, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(rendered);
+        return rendered.toString();
+    }
+}
@@ -0,0 +1,139 @@
+package com.core.hw1.admission;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// AIMD concurrency limit driven by measured latency. A request that finishes within the target latency grows the
+// limit by 1/limit (about +1 per limit's worth of requests); a slower or failed one multiplies it by the backoff
+// ratio, at most once per round trip so a burst of slow responses counts as a single congestion signal. Requests
+// over the limit wait in a bounded FIFO queue.
+class AdaptiveLimiter {
+
+    enum Outcome {
+        ACQUIRED,
+        QUEUE_FULL,
+        TIMED_OUT
+    }
+
+    // Fair, so waiters are granted slots in arrival order.
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition slotFreed = lock.newCondition();
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private long lastDecreaseNanos;
+
+    AdaptiveLimiter(AdmissionControlProperties.Limits limits, double backoffRatio) {
+        this.minLimit = Math.max(1, limits.getMinLimit());
+        this.maxLimit = Math.max(minLimit, limits.getMaxLimit());
+        this.maxQueue = limits.getMaxQueue();
+        this.maxWaitNanos = limits.getMaxWait().toNanos();
+        this.targetLatencyNanos = limits.getTargetLatency().toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.clamp(limits.getInitialLimit(), minLimit, maxLimit);
+        this.lastDecreaseNanos = System.nanoTime();
+    }
+
+    Outcome acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            // Queued requests go first.
+            if (queued == 0 && inFlight < (int) limit) {
+                inFlight++;
+                return Outcome.ACQUIRED;
+            }
+            if (queued >= maxQueue) {
+                return Outcome.QUEUE_FULL;
+            }
+            queued++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return Outcome.TIMED_OUT;
+                    }
+                    remaining = slotFreed.awaitNanos(remaining);
+                }
+                inFlight++;
+                return Outcome.ACQUIRED;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // startNanos is when the request was admitted, not when it arrived, so queueing does not feed back into the limit.
+    void release(long startNanos, long endNanos, boolean failed) {
+        lock.lock();
+        try {
+            int concurrency = inFlight--;
+            if (failed || endNanos - startNanos > targetLatencyNanos) {
+                // Requests admitted before the last decrease saw the old limit; they say nothing new.
+                if (startNanos - lastDecreaseNanos > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = endNanos;
+                }
+            } else if (concurrency * 2 >= limit) {
+                // Only grow a limit that is actually being used, otherwise a quiet period inflates it to the max.
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            signalFreeSlots();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Frees the slot without a latency sample.
+    void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            signalFreeSlots();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalFreeSlots() {
+        for (int free = (int) limit - inFlight; free > 0; free--) {
+            slotFreed.signal();
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
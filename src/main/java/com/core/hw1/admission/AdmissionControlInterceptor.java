@@ -0,0 +1,116 @@
+package com.core.hw1.admission;
+
+import com.core.hw1.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Virtual threads let Tomcat accept any number of requests, which then all queue on the JDBC pool. This caps the
+// requests inside each bulkhead with an AdaptiveLimiter, lets a bounded number wait for a slot and sheds the rest
+// with 503 + Retry-After before the handler touches the database.
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final AdmissionControlProperties properties;
+    private final Map<BulkheadType, AdaptiveLimiter> limiters = new EnumMap<>(BulkheadType.class);
+    private final Map<BulkheadType, Timer> queueWaits = new EnumMap<>(BulkheadType.class);
+    private final Map<BulkheadType, Counter> queueFullRejections = new EnumMap<>(BulkheadType.class);
+    private final Map<BulkheadType, Counter> timeoutRejections = new EnumMap<>(BulkheadType.class);
+
+    public AdmissionControlInterceptor(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (BulkheadType type : BulkheadType.values()) {
+            AdaptiveLimiter limiter = new AdaptiveLimiter(properties.limitsFor(type), properties.getBackoffRatio());
+            limiters.put(type, limiter);
+            String bulkhead = type.name().toLowerCase();
+            Gauge.builder("admission.limit", limiter, AdaptiveLimiter::getLimit)
+                    .description("Current concurrency limit")
+                    .tag("bulkhead", bulkhead)
+                    .register(meterRegistry);
+            Gauge.builder("admission.inflight", limiter, AdaptiveLimiter::getInFlight)
+                    .description("Requests currently admitted")
+                    .tag("bulkhead", bulkhead)
+                    .register(meterRegistry);
+            Gauge.builder("admission.queue.depth", limiter, AdaptiveLimiter::getQueued)
+                    .description("Requests waiting for a slot")
+                    .tag("bulkhead", bulkhead)
+                    .register(meterRegistry);
+            queueWaits.put(type, Timer.builder("admission.queue.wait")
+                    .description("Time admitted requests spent waiting for a slot")
+                    .tag("bulkhead", bulkhead)
+                    .register(meterRegistry));
+            queueFullRejections.put(type, Counter.builder("admission.rejected")
+                    .tag("bulkhead", bulkhead)
+                    .tag("reason", "queue_full")
+                    .register(meterRegistry));
+            timeoutRejections.put(type, Counter.builder("admission.rejected")
+                    .tag("bulkhead", bulkhead)
+                    .tag("reason", "timeout")
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Bulkhead bulkhead = handlerMethod.getMethodAnnotation(Bulkhead.class);
+        BulkheadType type = bulkhead != null ? bulkhead.value() : bulkheadOf(request);
+        long arrival = System.nanoTime();
+        AdaptiveLimiter.Outcome outcome = limiters.get(type).acquire();
+        long admitted = System.nanoTime();
+        switch (outcome) {
+            case ACQUIRED -> {
+                queueWaits.get(type).record(admitted - arrival, TimeUnit.NANOSECONDS);
+                request.setAttribute(PERMIT_ATTRIBUTE, new Permit(type, admitted, bulkhead == null || bulkhead.latencySensitive()));
+                return true;
+            }
+            case QUEUE_FULL -> queueFullRejections.get(type).increment();
+            case TIMED_OUT -> timeoutRejections.get(type).increment();
+        }
+        throw new ServiceOverloadedException("Too many concurrent " + type.name().toLowerCase()
+                + " requests, please retry later", properties.getRetryAfter());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            AdaptiveLimiter limiter = limiters.get(permit.type());
+            boolean failed = ex != null || response.getStatus() >= 500;
+            if (failed || permit.latencySensitive()) {
+                limiter.release(permit.admittedNanos(), System.nanoTime(), failed);
+            } else {
+                limiter.release();
+            }
+        }
+    }
+
+    // Without @Bulkhead the /search routes are SEARCH, other GETs READ and everything else WRITE.
+    private static BulkheadType bulkheadOf(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return BulkheadType.WRITE;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null && pattern.toString().contains("/search") ? BulkheadType.SEARCH : BulkheadType.READ;
+    }
+
+    private record Permit(BulkheadType type, long admittedNanos, boolean latencySensitive) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.core.hw1.admission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    // The limit is multiplied by this when a request is slower than its target latency or fails with a 5xx.
+    private double backoffRatio = 0.9;
+
+    // Sent as Retry-After with the 503 for requests that are shed.
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private Map<BulkheadType, Limits> bulkheads = new EnumMap<>(BulkheadType.class);
+
+    public Limits limitsFor(BulkheadType type) {
+        return bulkheads.getOrDefault(type, new Limits());
+    }
+
+    @Getter
+    @Setter
+    public static class Limits {
+
+        // Concurrent requests allowed at startup; the limit then moves between min and max.
+        private int initialLimit = 20;
+
+        private int minLimit = 2;
+
+        private int maxLimit = 200;
+
+        // Requests over the limit wait in a FIFO queue of this size; the rest are rejected at once.
+        private int maxQueue = 100;
+
+        private Duration maxWait = Duration.ofMillis(500);
+
+        // Requests finishing within this grow the limit, slower ones shrink it.
+        private Duration targetLatency = Duration.ofMillis(250);
+
+    }
+}
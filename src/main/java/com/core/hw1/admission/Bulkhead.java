@@ -0,0 +1,19 @@
+package com.core.hw1.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Overrides the bulkhead AdmissionControlInterceptor would pick from the HTTP method and path, e.g. for a POST that
+// only reads or a GET that scans the whole table.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+    BulkheadType value();
+
+    // False for streaming handlers, whose duration says more about the client's download than about our load; only
+    // their failures then move the limit.
+    boolean latencySensitive() default true;
+}
@@ -0,0 +1,9 @@
+package com.core.hw1.admission;
+
+// Each type has its own concurrency limit and wait queue, so a flood of searches or writes cannot starve the
+// cheap reads (and the other way round).
+public enum BulkheadType {
+    READ,
+    SEARCH,
+    WRITE
+}
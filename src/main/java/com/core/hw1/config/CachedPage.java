@@ -0,0 +1,13 @@
+package com.core.hw1.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a @TableETag handler whose gzipped response is kept in CompressedPageCache and replayed while the table
+// version is unchanged. Only for handlers whose response is fully described by status, content type and body.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedPage {
+}
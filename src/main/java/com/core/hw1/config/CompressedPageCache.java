@@ -0,0 +1,116 @@
+package com.core.hw1.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.core.hw1.event.ActorChangedEvent;
+import com.core.hw1.event.ActorsDeletedEvent;
+import com.core.hw1.event.FilmChangedEvent;
+import com.core.hw1.event.FilmsDeletedEvent;
+import com.core.hw1.event.FilmsImportedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Gzipped bodies of @CachedPage responses, keyed by URL and Accept header and tagged with the table ETag they were
+// rendered for. A hit skips the query, the serialization and the compression. The table ETag moves on every write
+// (see TableVersionService), and pages are also dropped on change events so stale ones do not hold on to the budget.
+@Component
+public class CompressedPageCache {
+
+    record Page(String etag, String contentType, byte[] gzipped) {
+    }
+
+    private final PageCacheProperties properties;
+    private final Cache<String, Page> pages;
+
+    public CompressedPageCache(PageCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBytes())
+                .weigher((String key, Page page) -> key.length() + page.gzipped().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "compressedPages");
+    }
+
+    @EventListener({FilmChangedEvent.class, FilmsDeletedEvent.class, FilmsImportedEvent.class,
+            ActorChangedEvent.class, ActorsDeletedEvent.class})
+    public void invalidate() {
+        pages.invalidateAll();
+    }
+
+    static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+
+    // Called once the current ETag is known. Returns true when the response was written from the cache; otherwise
+    // the body about to be rendered is captured for store().
+    public boolean serveOrCapture(HttpServletRequest request, HttpServletResponse response, String etag) throws IOException {
+        PageCaptureResponseWrapper capture = WebUtils.getNativeResponse(response, PageCaptureResponseWrapper.class);
+        if (capture == null) {
+            // Filter disabled or the client does not accept gzip.
+            return false;
+        }
+        String key = keyOf(request);
+        Page page = pages.getIfPresent(key);
+        if (page != null && page.etag().equals(etag)) {
+            write(capture, page);
+            return true;
+        }
+        capture.capture(key, etag);
+        return false;
+    }
+
+    void store(PageCaptureResponseWrapper capture, byte[] body) throws IOException {
+        HttpServletResponse response = (HttpServletResponse) capture.getResponse();
+        if (response.getStatus() != HttpStatus.OK.value() || body.length < properties.getMinBytes()) {
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+            return;
+        }
+        Page page = new Page(capture.getEtag(), response.getContentType(), gzip(body));
+        pages.put(capture.getCacheKey(), page);
+        write(response, page);
+    }
+
+    private static String keyOf(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return request.getRequestURI() + (query == null ? "" : "?" + query) + "|" + (accept == null ? "" : accept);
+    }
+
+    private static void write(HttpServletResponse response, Page page) throws IOException {
+        response.setContentType(page.contentType());
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(page.gzipped().length);
+        response.getOutputStream().write(page.gzipped());
+    }
+
+    // Pages are compressed once and sent many times, so the slowest level pays off.
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
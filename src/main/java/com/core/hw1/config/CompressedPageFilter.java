@@ -0,0 +1,43 @@
+package com.core.hw1.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Gives TableETagInterceptor a response it can capture. Uncaptured responses stream through untouched and are left
+// to the container's compression.
+@Component
+public class CompressedPageFilter extends OncePerRequestFilter {
+
+    private final PageCacheProperties properties;
+    private final CompressedPageCache compressedPageCache;
+
+    public CompressedPageFilter(PageCacheProperties properties, CompressedPageCache compressedPageCache) {
+        this.properties = properties;
+        this.compressedPageCache = compressedPageCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!properties.isEnabled() || !HttpMethod.GET.matches(request.getMethod())
+                || !CompressedPageCache.acceptsGzip(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        PageCaptureResponseWrapper wrapper = new PageCaptureResponseWrapper(response, properties.getMaxEntryBytes());
+        filterChain.doFilter(request, wrapper);
+        byte[] body = wrapper.finishCapture();
+        if (body != null) {
+            compressedPageCache.store(wrapper, body);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.core.hw1.config;
+
+import com.core.hw1.controller.ActorController;
+import com.core.hw1.controller.FilmController;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// With spring.main.lazy-initialization=true (the fast-startup profile) these stay eager, so the JPA bootstrap and the
+// film/actor read path are paid before the port opens instead of by the first request. Admin endpoints, exports,
+// imports, JFR and the like are created on first use.
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter criticalPathExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class,
+                FilmController.class, ActorController.class);
+    }
+}
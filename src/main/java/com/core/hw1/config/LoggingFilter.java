@@ -1,72 +1,177 @@
 package com.core.hw1.config;
 
+import com.core.hw1.jfr.HttpRequestEvent;
+import com.core.hw1.metrics.RequestStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
-
+import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.util.Spliterator;
-import java.util.Spliterators;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @Component
-@Slf4j
 public class LoggingFilter extends OncePerRequestFilter {
 
+    private static final String REDACTED = "[REDACTED]";
+    private static final String DB_STATEMENTS_KEY = "dbStatements";
+    private static final String DB_ROWS_KEY = "dbRows";
+    private static final String DB_TIME_MS_KEY = "dbTimeMs";
+    private static final String DB_REPEATED_SELECT_KEY = "dbRepeatedSelect";
+
+    private final RequestLoggingProperties properties;
+    private final RequestLogWriter requestLogWriter;
+    private final Set<String> redactedHeaders;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Timer overhead;
+
+    public LoggingFilter(RequestLoggingProperties properties, RequestLogWriter requestLogWriter, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.requestLogWriter = requestLogWriter;
+        this.redactedHeaders = properties.getRedactedHeaders().stream()
+                .map(header -> header.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.overhead = Timer.builder("request.log.overhead")
+                .description("Time spent in LoggingFilter itself, excluding the rest of the chain")
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        try {
+            if (properties.isEnabled()) {
+                filterAndLog(request, response, filterChain);
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                commit(event, request, response);
+            }
+        }
+    }
 
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
-
-        long startTime = System.currentTimeMillis();
+    private void filterAndLog(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long filterStart = System.nanoTime();
+        boolean sampled = isSampled(request.getRequestURI());
 
-        // Pass the wrapped request and response to the next filter in the chain
-        filterChain.doFilter(requestWrapper, responseWrapper);
+        // Unsampled requests are not wrapped at all; they only get a log line when they fail.
+        ContentCachingRequestWrapper requestWrapper = sampled
+                ? new ContentCachingRequestWrapper(request, properties.getMaxBodyBytes())
+                : null;
+        CapturingResponseWrapper responseWrapper = sampled
+                ? new CapturingResponseWrapper(response, properties.getMaxBodyBytes())
+                : null;
 
-        long timeTaken = System.currentTimeMillis() - startTime;
+        long chainStart = System.nanoTime();
+        try {
+            filterChain.doFilter(sampled ? requestWrapper : request, sampled ? responseWrapper : response);
+        } finally {
+            long chainEnd = System.nanoTime();
+            if (responseWrapper != null) {
+                responseWrapper.flushWriter();
+            }
+            if (sampled || response.getStatus() >= 500) {
+                requestLogWriter.submit(buildRecord(request, response, requestWrapper, responseWrapper,
+                        TimeUnit.NANOSECONDS.toMillis(chainEnd - chainStart)));
+            }
+            overhead.record((chainStart - filterStart) + (System.nanoTime() - chainEnd), TimeUnit.NANOSECONDS);
+        }
+    }
 
-        String requestBody = getContentAsString(requestWrapper.getContentAsByteArray(), request.getCharacterEncoding());
-        String responseBody = getContentAsString(responseWrapper.getContentAsByteArray(), response.getCharacterEncoding());
+    private static void commit(HttpRequestEvent event, HttpServletRequest request, HttpServletResponse response) {
+        event.setMethod(request.getMethod());
+        event.setUri(request.getRequestURI());
+        event.setStatus(response.getStatus());
+        Object traceId = request.getAttribute(MdcInterceptor.TRACE_ID_KEY);
+        event.setTraceId(traceId != null ? traceId.toString() : null);
+        RequestStats stats = RequestStats.current();
+        if (stats != null) {
+            event.setDbStatements(stats.getStatementCount());
+            event.setDbTime(stats.getDbNanos());
+        }
+        event.commit();
+    }
 
-        // Important: copy the response body back to the original response
-        responseWrapper.copyBodyToResponse();
+    private boolean isSampled(String uri) {
+        double rate = properties.getDefaultSampleRate();
+        for (Map.Entry<String, Double> entry : properties.getSampleRates().entrySet()) {
+            if (pathMatcher.match(entry.getKey(), uri)) {
+                rate = entry.getValue();
+                break;
+            }
+        }
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
 
-        // Create a Stream from the Iterator provided by getHeaderNames()
-        String headers = StreamSupport.stream(
-                        Spliterators.spliteratorUnknownSize(request.getHeaderNames().asIterator(), Spliterator.ORDERED), false)
-                .map(headerName -> headerName + ":" + request.getHeader(headerName))
-                .collect(Collectors.joining(", "));
+    private RequestLogRecord buildRecord(HttpServletRequest request, HttpServletResponse response,
+                                         ContentCachingRequestWrapper requestWrapper,
+                                         CapturingResponseWrapper responseWrapper, long timeTakenMs) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        if (mdc == null) {
+            mdc = new HashMap<>();
+        }
+        // MdcInterceptor has already removed the trace id from the MDC by the time the chain returns.
+        Object traceId = request.getAttribute(MdcInterceptor.TRACE_ID_KEY);
+        if (traceId != null) {
+            mdc.put(MdcInterceptor.TRACE_ID_KEY, traceId.toString());
+        }
+        // Still bound: RouteMetricsFilter wraps this filter.
+        RequestStats stats = RequestStats.current();
+        if (stats != null) {
+            mdc.put(DB_STATEMENTS_KEY, String.valueOf(stats.getStatementCount()));
+            mdc.put(DB_ROWS_KEY, String.valueOf(stats.getRowCount()));
+            mdc.put(DB_TIME_MS_KEY, String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getDbNanos())));
+            if (stats.getRepeatedSelect() != null) {
+                mdc.put(DB_REPEATED_SELECT_KEY, stats.getRepeatedSelectCount() + " x " + stats.getRepeatedSelect());
+            }
+        }
 
-        // Log the details. Notice how we don't need to manually add traceId, MDC handles it.
-        log.info("API Request/Response: method={}, uri={}, statusCode={}, requestHeaders=[{}], requestBody={}, responseBody={}, timeTakenMs={}",
+        return new RequestLogRecord(
                 request.getMethod(),
                 request.getRequestURI(),
                 response.getStatus(),
-                headers,
-                requestBody,
-                responseBody,
-                timeTaken);
+                requestWrapper != null ? headers(request) : "",
+                requestWrapper != null ? requestWrapper.getContentAsByteArray() : null,
+                request.getContentLengthLong(),
+                request.getCharacterEncoding(),
+                responseWrapper != null ? responseWrapper.getCapturedBody() : null,
+                responseWrapper != null ? responseWrapper.getByteCount() : -1,
+                response.getCharacterEncoding(),
+                timeTakenMs,
+                mdc);
     }
 
-    private String getContentAsString(byte[] buf, String charsetName) {
-        if (buf == null || buf.length == 0) {
-            return "";
-        }
-        try {
-            return new String(buf, 0, buf.length, charsetName);
-        } catch (UnsupportedEncodingException ex) {
-            return "Unsupported Encoding";
+    private String headers(HttpServletRequest request) {
+        StringBuilder headers = new StringBuilder();
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            if (!headers.isEmpty()) {
+                headers.append(", ");
+            }
+            headers.append(name).append(':');
+            headers.append(redactedHeaders.contains(name.toLowerCase(Locale.ROOT)) ? REDACTED : request.getHeader(name));
         }
+        return headers.toString();
     }
 }
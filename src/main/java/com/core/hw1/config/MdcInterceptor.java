@@ -11,12 +11,14 @@ import java.util.UUID;
 @Component
 public class MdcInterceptor implements HandlerInterceptor {
 
-    private static final String TRACE_ID_KEY = "traceId";
+    public static final String TRACE_ID_KEY = "traceId";
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         String traceId = UUID.randomUUID().toString();
         MDC.put(TRACE_ID_KEY, traceId);
+        // Filters outside the DispatcherServlet run after afterCompletion, so keep a copy on the request.
+        request.setAttribute(TRACE_ID_KEY, traceId);
         return true;
     }
 
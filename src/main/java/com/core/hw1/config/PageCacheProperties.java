@@ -0,0 +1,23 @@
+package com.core.hw1.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.compression.page-cache")
+public class PageCacheProperties {
+
+    private boolean enabled = true;
+
+    // Total size of the gzipped pages kept in memory.
+    private long maxBytes = 16 * 1024 * 1024;
+
+    // Smaller bodies are neither cached nor compressed here; gzip costs more than it saves on them.
+    private int minBytes = 2048;
+
+    // Larger bodies are passed through uncached so one big page cannot flush the rest.
+    private int maxEntryBytes = 1024 * 1024;
+
+}
@@ -0,0 +1,184 @@
+package com.core.hw1.config;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+// Writes straight through until capture() is called; from then on the body is buffered so CompressedPageFilter can
+// gzip and cache it. A body that grows past the limit is flushed and streams through as usual.
+public class PageCaptureResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int limit;
+    private String cacheKey;
+    private String etag;
+    // Non-null while capturing.
+    private ByteArrayOutputStream buffer;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public PageCaptureResponseWrapper(HttpServletResponse response, int limit) {
+        super(response);
+        this.limit = limit;
+    }
+
+    // Has no effect once the handler has started writing.
+    public void capture(String cacheKey, String etag) {
+        if (outputStream == null && writer == null) {
+            this.cacheKey = cacheKey;
+            this.etag = etag;
+            this.buffer = new ByteArrayOutputStream(8192);
+        }
+    }
+
+    // Returns the buffered body, or null when nothing was captured or the body overflowed the limit.
+    public byte[] finishCapture() {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (buffer == null) {
+            return null;
+        }
+        byte[] body = buffer.toByteArray();
+        buffer = null;
+        return body;
+    }
+
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        if (outputStream == null) {
+            outputStream = new CaptureOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (outputStream != null && writer == null) {
+            throw new IllegalStateException("getOutputStream() has already been called for this response");
+        }
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(new CaptureOutputStream(), Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    // The length of a captured body is set once it is known to be sent uncompressed, or replaced by the gzip length.
+    @Override
+    public void setContentLength(int len) {
+        if (buffer == null) {
+            super.setContentLength(len);
+        }
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (buffer == null) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (buffer == null || !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (buffer == null || !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            super.addHeader(name, value);
+        }
+    }
+
+    // Flushing a captured body would commit the response before it is compressed.
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (buffer == null) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (buffer != null) {
+            buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    private class CaptureOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private CaptureOutputStream() throws IOException {
+            this.delegate = getResponse().getOutputStream();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (buffer != null) {
+                if (buffer.size() + len <= limit) {
+                    buffer.write(b, off, len);
+                    return;
+                }
+                // Too big to cache: send what was held back and stream the rest.
+                ByteArrayOutputStream held = buffer;
+                buffer = null;
+                held.writeTo(delegate);
+            }
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (buffer == null) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (buffer == null) {
+                delegate.close();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.core.hw1.config;
+
+import java.util.Map;
+
+// Everything the background writer needs, copied off the request thread.
+public record RequestLogRecord(
+        String method,
+        String uri,
+        int status,
+        String headers,
+        byte[] requestBody,
+        long requestBytes,
+        String requestCharset,
+        byte[] responseBody,
+        long responseBytes,
+        String responseCharset,
+        long timeTakenMs,
+        Map<String, String> mdc
+) {
+}
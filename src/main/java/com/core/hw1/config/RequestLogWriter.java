@@ -0,0 +1,109 @@
+package com.core.hw1.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Drains request log records on a single background thread so request threads never wait on log I/O.
+@Component
+public class RequestLogWriter {
+
+    // Keep the logger name of the original synchronous filter so existing log queries still match.
+    private static final Logger log = LoggerFactory.getLogger(LoggingFilter.class);
+
+    private final BlockingQueue<RequestLogRecord> queue;
+    private final Counter dropped;
+    private final Thread worker;
+    private final int maxBodyBytes;
+
+    public RequestLogWriter(RequestLoggingProperties properties, MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.maxBodyBytes = properties.getMaxBodyBytes();
+        this.dropped = Counter.builder("request.log.dropped")
+                .description("Request log records dropped because the queue was full")
+                .register(meterRegistry);
+        meterRegistry.gaugeCollectionSize("request.log.queue.size", Tags.empty(), queue);
+        this.worker = Thread.ofPlatform().name("request-log-writer").daemon().unstarted(this::drain);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        worker.interrupt();
+        worker.join(1000);
+        List<RequestLogRecord> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(this::write);
+    }
+
+    // Never blocks: when the writer falls behind, the record is dropped and counted.
+    public void submit(RequestLogRecord record) {
+        if (!queue.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                write(queue.take());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                log.warn("Could not write request log record", ex);
+            }
+        }
+    }
+
+    private void write(RequestLogRecord record) {
+        if (record.mdc() != null) {
+            MDC.setContextMap(record.mdc());
+        }
+        try {
+            log.info("API Request/Response: method={}, uri={}, statusCode={}, requestHeaders=[{}], requestBody={}, responseBody={}, responseBytes={}, timeTakenMs={}",
+                    record.method(),
+                    record.uri(),
+                    record.status(),
+                    record.headers(),
+                    decode(record.requestBody(), record.requestBytes(), record.requestCharset()),
+                    decode(record.responseBody(), record.responseBytes(), record.responseCharset()),
+                    record.responseBytes(),
+                    record.timeTakenMs());
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private String decode(byte[] body, long totalBytes, String charsetName) {
+        if (body == null || body.length == 0) {
+            return "";
+        }
+        Charset charset;
+        try {
+            charset = charsetName != null ? Charset.forName(charsetName) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException ex) {
+            return "Unsupported Encoding";
+        }
+        int length = Math.min(body.length, maxBodyBytes);
+        String text = new String(body, 0, length, charset);
+        long total = Math.max(totalBytes, body.length);
+        return total > length ? text + "...(truncated, " + total + " bytes)" : text;
+    }
+}
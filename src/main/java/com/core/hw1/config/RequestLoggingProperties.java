@@ -0,0 +1,34 @@
+package com.core.hw1.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.logging.requests")
+public class RequestLoggingProperties {
+
+    private boolean enabled = true;
+
+    // Bodies beyond this many bytes are cut off in the log line.
+    private int maxBodyBytes = 2048;
+
+    // Log records waiting for the background writer; new records are dropped when full.
+    private int queueCapacity = 10_000;
+
+    private double defaultSampleRate = 1.0;
+
+    // Ant-style URI pattern to sample rate between 0 and 1. The first matching pattern wins.
+    private Map<String, Double> sampleRates = new LinkedHashMap<>();
+
+    private Set<String> redactedHeaders = new LinkedHashSet<>(
+            List.of("authorization", "proxy-authorization", "cookie", "set-cookie", "x-api-key"));
+
+}
@@ -0,0 +1,16 @@
+package com.core.hw1.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a GET handler whose response only depends on the given table. TableETagInterceptor answers conditional
+// requests for it with 304 before the handler runs.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TableETag {
+
+    // Table name as known to TableVersionService, e.g. "film".
+    String value();
+}
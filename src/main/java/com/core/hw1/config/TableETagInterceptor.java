@@ -0,0 +1,45 @@
+package com.core.hw1.config;
+
+import com.core.hw1.service.TableVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+
+// Sets a weak ETag and Last-Modified on @TableETag handlers and short-circuits with 304 when the client's copy is
+// current, so neither the query nor the serialization runs. @CachedPage handlers may be answered from
+// CompressedPageCache instead.
+@Component
+public class TableETagInterceptor implements HandlerInterceptor {
+
+    private final TableVersionService tableVersionService;
+    private final CompressedPageCache compressedPageCache;
+
+    public TableETagInterceptor(TableVersionService tableVersionService, CompressedPageCache compressedPageCache) {
+        this.tableVersionService = tableVersionService;
+        this.compressedPageCache = compressedPageCache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        TableETag tableETag = handlerMethod.getMethodAnnotation(TableETag.class);
+        if (tableETag == null) {
+            return true;
+        }
+        TableVersionService.Version version = tableVersionService.versionOf(tableETag.value());
+        long lastModified = version.lastModified() == null ? -1 : version.lastModified().toEpochMilli();
+        String etag = version.etag();
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return false;
+        }
+        return !handlerMethod.hasMethodAnnotation(CachedPage.class)
+                || !compressedPageCache.serveOrCapture(request, response, etag);
+    }
+}
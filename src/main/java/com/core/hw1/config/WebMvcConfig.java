@@ -1,5 +1,7 @@
 package com.core.hw1.config;
 
+import com.core.hw1.admission.AdmissionControlInterceptor;
+import com.core.hw1.admission.AdmissionControlProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -11,8 +13,23 @@ public class WebMvcConfig implements WebMvcConfigurer {
     @Autowired
     private MdcInterceptor mdcInterceptor;
 
+    @Autowired
+    private AdmissionControlProperties admissionControlProperties;
+
+    @Autowired
+    private AdmissionControlInterceptor admissionControlInterceptor;
+
+    @Autowired
+    private TableETagInterceptor tableETagInterceptor;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(mdcInterceptor);
+        // Before the ETag check, which may already query the database.
+        if (admissionControlProperties.isEnabled()) {
+            registry.addInterceptor(admissionControlInterceptor)
+                    .addPathPatterns("/api/v1/films/**", "/api/v1/actors/**");
+        }
+        registry.addInterceptor(tableETagInterceptor);
     }
 }
@@ -1,13 +1,46 @@
 package com.core.hw1.controller;
 
+import com.core.hw1.admission.Bulkhead;
+import com.core.hw1.admission.BulkheadType;
+import com.core.hw1.config.CachedPage;
+import com.core.hw1.config.TableETag;
+import com.core.hw1.event.ActorChangedEvent;
+import com.core.hw1.event.ChangeType;
+import com.core.hw1.exception.BadRequestException;
 import com.core.hw1.exception.ResourceNotFoundException;
 import com.core.hw1.model.Actor;
 import com.core.hw1.repository.ActorRepository;
+import com.core.hw1.service.ActorCache;
+import com.core.hw1.service.ActorNameIndex;
+import com.core.hw1.service.BatchGetService;
+import com.core.hw1.service.BulkDeleteService;
+import com.core.hw1.service.PatchService;
+import com.core.hw1.service.TableVersionService;
+import com.core.hw1.util.ETagUtils;
+import com.core.hw1.util.PageUtils;
+import com.core.hw1.util.SortUtils;
+import com.core.hw1.viewmodel.ActorSuggestionVm;
+import com.core.hw1.viewmodel.ActorVm;
+import com.core.hw1.viewmodel.BatchGetResultVm;
+import com.core.hw1.viewmodel.BulkDeleteResultVm;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/actors")
@@ -18,59 +51,140 @@ import java.util.List;
 public class ActorController {
 
     /*
-    http GET :8088/api/v1/actors
+    http GET :8088/api/v1/actors page==0 size==20 sort==lastName,asc
+    http GET :8088/api/v1/actors/autocomplete prefix==pen
     http GET :8088/api/v1/actors/1
+    http GET :8088/api/v1/actors ids==1,2,3
+    http POST :8088/api/v1/actors/batch-get <<< '[1,2,3]'
     http POST :8088/api/v1/actors firstName='SCARLETT' lastName='JOHANSSON'
     http PUT :8088/api/v1/actors/1 firstName='JANE' lastName='DOE'
+    http PATCH :8088/api/v1/actors/1 If-Match:'"1139979822"' lastName='SMITH'
     http DELETE :8088/api/v1/actors/201
+    http POST :8088/api/v1/actors/bulk-delete <<< '[201,202]'
     */
 
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("actorId", "firstName", "lastName", "lastUpdate");
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final ActorRepository actorRepository;
+    private final ActorCache actorCache;
+    private final ActorNameIndex actorNameIndex;
+    private final BatchGetService batchGetService;
+    private final PatchService patchService;
+    private final BulkDeleteService bulkDeleteService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxPageSize;
 
-    public ActorController(ActorRepository actorRepository) {
+    public ActorController(ActorRepository actorRepository, ActorCache actorCache, ActorNameIndex actorNameIndex,
+                           BatchGetService batchGetService, PatchService patchService,
+                           BulkDeleteService bulkDeleteService, ApplicationEventPublisher eventPublisher,
+                           @Value("${app.paging.max-page-size:100}") int maxPageSize) {
         this.actorRepository = actorRepository;
+        this.actorCache = actorCache;
+        this.actorNameIndex = actorNameIndex;
+        this.batchGetService = batchGetService;
+        this.patchService = patchService;
+        this.bulkDeleteService = bulkDeleteService;
+        this.eventPublisher = eventPublisher;
+        this.maxPageSize = maxPageSize;
     }
 
+    @TableETag(TableVersionService.ACTOR)
+    @CachedPage
     @GetMapping
-    public List<Actor> getAllActors() {
-        return actorRepository.findAll();
+    public List<ActorVm> getAllActors(@RequestParam(defaultValue = "0") int page,
+                                      @RequestParam(defaultValue = "10") int size,
+                                      @RequestParam(required = false) List<String> sort) {
+        PageUtils.check(page, size, maxPageSize);
+        return actorRepository.findViews(PageRequest.of(page, size, SortUtils.parse(sort, SORTABLE_PROPERTIES, "actorId")));
+    }
+
+    @Bulkhead(BulkheadType.SEARCH)
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<ActorSuggestionVm>> autocomplete(@RequestParam String prefix,
+                                                                @RequestParam(defaultValue = "10") int limit) {
+        if (prefix.isBlank()) {
+            throw new BadRequestException("Prefix must not be empty");
+        }
+        if (!actorNameIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(actorNameIndex.suggest(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS)));
+    }
+
+    @GetMapping(params = "ids")
+    public BatchGetResultVm<Actor> getActorsByIds(@RequestParam List<Short> ids) {
+        return batchGetService.getInOrder(ids, actorRepository::findAllById, Actor::getActorId);
+    }
+
+    @Bulkhead(BulkheadType.READ)
+    @PostMapping("/batch-get")
+    public BatchGetResultVm<Actor> getActorsByIdsInBody(@RequestBody List<Short> ids) {
+        return batchGetService.getInOrder(ids, actorRepository::findAllById, Actor::getActorId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Actor> getActorById(@PathVariable(value = "id") Short actorId) {
-        Actor actor = actorRepository.findById(actorId)
+    public ResponseEntity<Actor> getActorById(@PathVariable(value = "id") Short actorId, WebRequest request) {
+        if (!ETagUtils.isConditional(request)) {
+            Actor actor = actorCache.getById(actorId);
+            Instant lastUpdate = actor.getLastUpdate().atZone(ZoneId.systemDefault()).toInstant();
+            return ResponseEntity.ok().eTag(ETagUtils.forRow(lastUpdate)).lastModified(lastUpdate).body(actor);
+        }
+        Instant lastUpdate = actorRepository.findLastUpdateById(actorId)
+                .map(value -> value.atZone(ZoneId.systemDefault()).toInstant())
                 .orElseThrow(() -> new ResourceNotFoundException("Actor not found with id: " + actorId));
+        if (request.checkNotModified(ETagUtils.forRow(lastUpdate), lastUpdate.toEpochMilli())) {
+            return null;
+        }
+        Actor actor = actorCache.getById(actorId);
         return ResponseEntity.ok().body(actor);
     }
 
     @PostMapping
     public Actor createActor(@RequestBody Actor actor) {
-        return actorRepository.save(actor);
+        // last_update is a TIMESTAMP with second precision; keep the entity equal to what gets stored.
+        actor.setLastUpdate(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        Actor savedActor = actorRepository.save(actor);
+        eventPublisher.publishEvent(new ActorChangedEvent(savedActor.getActorId(), ChangeType.CREATED, savedActor));
+        return savedActor;
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Actor> updateActor(@PathVariable(value = "id") Short actorId, @RequestBody Actor actorDetails) {
-        Actor actor = actorRepository.findById(actorId)
-                .orElseThrow(() -> new ResourceNotFoundException("Actor not found with id: " + actorId));
-
         // Update the found actor's details with the new data from the request body.
-        actor.setFirstName(actorDetails.getFirstName());
-        actor.setLastName(actorDetails.getLastName());
-
-        // Save the updated actor back to the database.
-        final Actor updatedActor = actorRepository.save(actor);
+        final Actor updatedActor = actorRepository.replace(actorId, actor -> {
+                    actor.setFirstName(actorDetails.getFirstName());
+                    actor.setLastName(actorDetails.getLastName());
+                })
+                .orElseThrow(() -> new ResourceNotFoundException("Actor not found with id: " + actorId));
+        eventPublisher.publishEvent(new ActorChangedEvent(actorId, ChangeType.UPDATED, updatedActor));
         return ResponseEntity.ok(updatedActor);
     }
 
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    public ResponseEntity<Void> patchActor(@PathVariable(value = "id") Short actorId,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                           @RequestBody JsonNode patch) {
+        Instant lastUpdate = patchService.patchActor(actorId, ifMatch, patch);
+        return ResponseEntity.noContent()
+                .eTag(ETagUtils.forRow(lastUpdate))
+                .lastModified(lastUpdate)
+                .build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteActor(@PathVariable(value = "id") Short actorId) {
-        // Find the actor to delete.
-        Actor actor = actorRepository.findById(actorId)
-                .orElseThrow(() -> new ResourceNotFoundException("Actor not found with id: " + actorId));
-
-        // The delete() method is provided by JpaRepository.
-        actorRepository.delete(actor);
+        // One DELETE; no row deleted means there was no such actor.
+        if (actorRepository.deleteActorById(actorId) == 0) {
+            throw new ResourceNotFoundException("Actor not found with id: " + actorId);
+        }
+        eventPublisher.publishEvent(new ActorChangedEvent(actorId, ChangeType.DELETED, null));
 
         return ResponseEntity.ok().build();
     }
+
+    @PostMapping("/bulk-delete")
+    public BulkDeleteResultVm deleteActors(@RequestBody List<Short> ids) {
+        return bulkDeleteService.deleteActors(ids);
+    }
 }
@@ -0,0 +1,91 @@
+package com.core.hw1.controller;
+
+import com.core.hw1.metrics.QueryStatsRegistry;
+import com.core.hw1.service.IndexAdvisor;
+import com.core.hw1.viewmodel.IndexAdviceVm;
+import com.core.hw1.viewmodel.SlowQueryVm;
+import com.core.hw1.viewmodel.SqlShapeStatsVm;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@Tag(
+        name = "Admin Controller",
+        description = "Operational diagnostics"
+)
+public class AdminController {
+
+    private static final int MAX_SHAPES = 500;
+
+    private final IndexAdvisor indexAdvisor;
+    private final QueryStatsRegistry queryStatsRegistry;
+
+    public AdminController(IndexAdvisor indexAdvisor, QueryStatsRegistry queryStatsRegistry) {
+        this.indexAdvisor = indexAdvisor;
+        this.queryStatsRegistry = queryStatsRegistry;
+    }
+
+    @Operation(summary = "Composite index advice",
+            description = "Lists the predicate combinations the dynamic film search has generated since startup, most frequent first, "
+                    + "with the composite index each would need and whether an existing index already covers it.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved advice",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = IndexAdviceVm.class)))),
+    })
+    @GetMapping("/index-advice")
+    public List<IndexAdviceVm> getIndexAdvice() {
+        return indexAdvisor.advise();
+    }
+
+    @Operation(summary = "SQL statement statistics",
+            description = "Execution counts, timings, rows and a latency histogram per normalized statement (literals and IN lists "
+                    + "replaced by '?'), across requests and background work since startup or the last reset.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = SqlShapeStatsVm.class)))),
+    })
+    @GetMapping("/sql/shapes")
+    public List<SqlShapeStatsVm> getSqlShapes(
+            @Parameter(description = "Order by total, max, mean, executions or rows; highest first", example = "total")
+            @RequestParam(defaultValue = "total") String sort,
+            @RequestParam(defaultValue = "20") int limit) {
+        return queryStatsRegistry.topShapes(sort, Math.min(Math.max(limit, 1), MAX_SHAPES));
+    }
+
+    @Operation(summary = "Recent slow statements",
+            description = "The most recent statement executions slower than app.sql.instrumentation.slow-query-threshold, newest first. "
+                    + "Each carries the trace id of the request that ran it.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved slow statements",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = SlowQueryVm.class)))),
+    })
+    @GetMapping("/sql/slow")
+    public List<SlowQueryVm> getSlowQueries() {
+        return queryStatsRegistry.slowQueries();
+    }
+
+    @Operation(summary = "Reset SQL statistics", description = "Clears the statement statistics and the slow statement buffer.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Statistics cleared"),
+    })
+    @DeleteMapping("/sql")
+    public ResponseEntity<Void> resetSqlStatistics() {
+        queryStatsRegistry.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,13 +1,47 @@
 package com.core.hw1.controller;
 
+import com.core.hw1.admission.Bulkhead;
+import com.core.hw1.admission.BulkheadType;
+import com.core.hw1.config.CachedPage;
+import com.core.hw1.config.TableETag;
+import com.core.hw1.enumeration.ExportFormat;
+import com.core.hw1.event.ChangeType;
+import com.core.hw1.event.FilmChangedEvent;
 import com.core.hw1.enumeration.Rating;
+import com.core.hw1.enumeration.SpecialFeature;
+import com.core.hw1.exception.BadRequestException;
 import com.core.hw1.exception.ResourceNotFoundException;
 import com.core.hw1.model.Film;
 import com.core.hw1.model.Language;
+import com.core.hw1.model.converter.SpecialFeatureSetConverter;
+import com.core.hw1.mapper.FilmMapper;
 import com.core.hw1.repository.FilmRepository;
-import com.core.hw1.repository.LanguageRepository;
+import com.core.hw1.repository.specification.FilmSpecifications;
+import com.core.hw1.service.BatchGetService;
+import com.core.hw1.service.BulkDeleteService;
+import com.core.hw1.service.FilmCache;
+import com.core.hw1.service.FilmExportService;
+import com.core.hw1.service.FilmImportService;
+import com.core.hw1.service.FilmSearchIndex;
+import com.core.hw1.service.FilmStatistics;
+import com.core.hw1.service.IndexAdvisor;
+import com.core.hw1.service.LanguageCache;
+import com.core.hw1.service.PatchService;
+import com.core.hw1.service.TableVersionService;
+import com.core.hw1.viewmodel.BatchGetResultVm;
+import com.core.hw1.viewmodel.BulkDeleteResultVm;
+import com.core.hw1.viewmodel.BulkImportResultVm;
+import com.core.hw1.util.CursorUtils;
+import com.core.hw1.util.ETagUtils;
+import com.core.hw1.util.PageUtils;
+import com.core.hw1.util.SortUtils;
+import com.core.hw1.viewmodel.CursorPageVm;
 import com.core.hw1.viewmodel.ErrorVm;
+import com.core.hw1.viewmodel.FilmBulkDeleteRequestVm;
 import com.core.hw1.viewmodel.FilmRequestVm;
+import com.core.hw1.viewmodel.FilmSearchCriteria;
+import com.core.hw1.viewmodel.FilmStatsVm;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,17 +49,35 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -37,40 +89,186 @@ import java.util.List;
 public class FilmController {
 
     private final FilmRepository filmRepository;
-    private final LanguageRepository languageRepository;
+    private final FilmMapper filmMapper;
+    private final FilmExportService filmExportService;
+    private final FilmImportService filmImportService;
+    private final LanguageCache languageCache;
+    private final FilmCache filmCache;
+    private final FilmSearchIndex filmSearchIndex;
+    private final IndexAdvisor indexAdvisor;
+    private final BatchGetService batchGetService;
+    private final PatchService patchService;
+    private final BulkDeleteService bulkDeleteService;
+    private final FilmStatistics filmStatistics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxPageSize;
 
-
-    public FilmController(FilmRepository filmRepository, LanguageRepository languageRepository) {
+    public FilmController(FilmRepository filmRepository, FilmMapper filmMapper, FilmExportService filmExportService,
+                          FilmImportService filmImportService, LanguageCache languageCache, FilmCache filmCache,
+                          FilmSearchIndex filmSearchIndex, IndexAdvisor indexAdvisor, BatchGetService batchGetService,
+                          PatchService patchService, BulkDeleteService bulkDeleteService,
+                          FilmStatistics filmStatistics, ApplicationEventPublisher eventPublisher,
+                          @Value("${app.paging.max-page-size:100}") int maxPageSize) {
         this.filmRepository = filmRepository;
-        this.languageRepository = languageRepository;
+        this.filmMapper = filmMapper;
+        this.filmExportService = filmExportService;
+        this.filmImportService = filmImportService;
+        this.languageCache = languageCache;
+        this.filmCache = filmCache;
+        this.filmSearchIndex = filmSearchIndex;
+        this.indexAdvisor = indexAdvisor;
+        this.batchGetService = batchGetService;
+        this.patchService = patchService;
+        this.bulkDeleteService = bulkDeleteService;
+        this.filmStatistics = filmStatistics;
+        this.eventPublisher = eventPublisher;
+        this.maxPageSize = maxPageSize;
     }
 
     @Operation(summary = "Get all films with pagination", description = "Returns a paginated list of all films.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
                     content = @Content(schema = @Schema(implementation = List.class))),
+            @ApiResponse(responseCode = "400", description = "Negative page or page size out of range",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
     })
+    @TableETag(TableVersionService.FILM)
+    @CachedPage
     @GetMapping
     public List<FilmRequestVm> getAllFilms(
             @Parameter(description = "Page number, starting from 0") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") int size
     ) {
+        PageUtils.check(page, size, maxPageSize);
         Pageable pageable = PageRequest.of(page, size);
-        return filmRepository.findAll(pageable).stream().map(this::mapToFilmRequestVm).toList();
+        return filmRepository.findViews(pageable);
+    }
+
+    @Operation(summary = "Get all films with keyset pagination",
+            description = "Returns a page of films ordered by ID, starting after the given cursor. Latency stays flat on deep pages because no OFFSET or COUNT query is used.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page",
+                    content = @Content(schema = @Schema(implementation = CursorPageVm.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+    })
+    @TableETag(TableVersionService.FILM)
+    @CachedPage
+    @GetMapping(params = "cursor")
+    public CursorPageVm<FilmRequestVm> getAllFilmsByCursor(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; empty for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page, at most app.paging.max-page-size") @RequestParam(defaultValue = "10") int size
+    ) {
+        PageUtils.checkSize(size, maxPageSize);
+        Short afterId = CursorUtils.decode(cursor);
+
+        // Fetch one extra row to know whether there is a next page without counting.
+        List<FilmRequestVm> films = filmRepository.findViewsAfterId(afterId, Limit.of(size + 1));
+        boolean hasNext = films.size() > size;
+        List<FilmRequestVm> content = hasNext ? films.subList(0, size) : films;
+
+        String nextCursor = hasNext ? CursorUtils.encode(content.getLast().getId()) : null;
+        return CursorPageVm.<FilmRequestVm>builder()
+                .content(content)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Operation(summary = "Export the whole film catalog",
+            description = "Streams every film as NDJSON (one JSON object per line) or CSV. Rows are written as they are read from the database, so the first byte is sent before the query finishes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catalog streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown export format",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+    })
+    @TableETag(TableVersionService.FILM)
+    @Bulkhead(value = BulkheadType.SEARCH, latencySensitive = false)
+    @GetMapping("/export")
+    public void exportFilms(
+            @Parameter(description = "Output format: ndjson or csv", example = "ndjson") @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromValue(format);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException(ex.getMessage());
+        }
+
+        response.setContentType(exportFormat.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"films." + exportFormat.getValue() + "\"");
+        filmExportService.export(exportFormat, response.getOutputStream());
     }
 
-    @Operation(summary = "Get a film by ID", description = "Returns a single film by its unique ID.")
+    @Operation(summary = "Catalog statistics",
+            description = "Film counts by rating, release year and language plus average length and rental rate. "
+                    + "Served from in-memory aggregates that are updated on every write and reconciled with the database periodically.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics",
+                    content = @Content(schema = @Schema(implementation = FilmStatsVm.class))),
+            @ApiResponse(responseCode = "503", description = "The statistics are not computed yet",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<FilmStatsVm> getStatistics() {
+        if (!filmStatistics.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(filmStatistics.get());
+    }
+
+    @Operation(summary = "Get a film by ID",
+            description = "Returns a single film by its unique ID. Supports If-None-Match and If-Modified-Since; the validators come from last_update.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved film",
                     content = @Content(schema = @Schema(implementation = FilmRequestVm.class))),
+            @ApiResponse(responseCode = "304", description = "The client's copy is current"),
             @ApiResponse(responseCode = "404", description = "Film not found",
                     content = @Content(schema = @Schema(implementation = ErrorVm.class))),
     })
     @GetMapping("/{id}")
-    public ResponseEntity<FilmRequestVm> getFilmById(@Parameter(description = "ID of the film to be retrieved") @PathVariable Short id) {
-        Film film = filmRepository.findById(id)
+    public ResponseEntity<FilmRequestVm> getFilmById(@Parameter(description = "ID of the film to be retrieved") @PathVariable Short id,
+                                                     WebRequest request) {
+        if (!ETagUtils.isConditional(request)) {
+            FilmRequestVm film = filmCache.getById(id);
+            return ResponseEntity.ok().eTag(ETagUtils.forRow(film.getLastUpdate())).lastModified(film.getLastUpdate()).body(film);
+        }
+        // Only last_update is read to validate; the full row is loaded when the client's copy is stale.
+        Instant lastUpdate = filmRepository.findLastUpdateById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Film not found with id: " + id));
-        return ResponseEntity.ok(mapToFilmRequestVm(film));
+        if (request.checkNotModified(ETagUtils.forRow(lastUpdate), lastUpdate.toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok(filmCache.getById(id));
+    }
+
+    @Operation(summary = "Get several films by ID",
+            description = "Returns the films with the given IDs in request order, resolved with one query per 500 IDs. IDs that do not exist are listed in missingIds.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved films",
+                    content = @Content(schema = @Schema(implementation = BatchGetResultVm.class))),
+            @ApiResponse(responseCode = "400", description = "No IDs or too many IDs",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+    })
+    @GetMapping(params = "ids")
+    public BatchGetResultVm<FilmRequestVm> getFilmsByIds(
+            @Parameter(description = "Comma-separated film IDs", example = "1,2,3") @RequestParam List<Short> ids) {
+        return batchGetService.getInOrder(ids, filmRepository::findViewsByIdIn, FilmRequestVm::getId);
+    }
+
+    @Operation(summary = "Get several films by ID (long lists)",
+            description = "Same as GET /api/v1/films?ids=..., with the IDs sent as a JSON array so long lists do not hit URL length limits.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved films",
+                    content = @Content(schema = @Schema(implementation = BatchGetResultVm.class))),
+            @ApiResponse(responseCode = "400", description = "No IDs or too many IDs",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+    })
+    @Bulkhead(BulkheadType.READ)
+    @PostMapping("/batch-get")
+    public BatchGetResultVm<FilmRequestVm> getFilmsByIdsInBody(@RequestBody List<Short> ids) {
+        return batchGetService.getInOrder(ids, filmRepository::findViewsByIdIn, FilmRequestVm::getId);
     }
 
     @Operation(summary = "Create a new film", description = "Adds a new film to the database.")
@@ -82,9 +280,33 @@ public class FilmController {
     })
     @PostMapping
     public ResponseEntity<FilmRequestVm> createFilm(@Valid @RequestBody FilmRequestVm filmRequestVm) {
-        Film film = mapToFilm(filmRequestVm, new Film());
+        Film film = filmMapper.mapToFilm(filmRequestVm, new Film());
         Film savedFilm = filmRepository.save(film);
-        return ResponseEntity.status(HttpStatus.CREATED).body(mapToFilmRequestVm(savedFilm));
+        FilmRequestVm savedFilmVm = filmMapper.mapToFilmRequestVm(savedFilm);
+        eventPublisher.publishEvent(new FilmChangedEvent(savedFilm.getId(), ChangeType.CREATED, savedFilmVm));
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETagUtils.forRow(savedFilm.getLastUpdate())).body(savedFilmVm);
+    }
+
+    @Operation(summary = "Import many films at once",
+            description = "Accepts a JSON array of films. Rows are validated one by one, language IDs are resolved once per chunk and valid rows are written with batched INSERTs in chunked transactions. Invalid rows are reported without failing the rest.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; see failed and errors for rejected rows",
+                    content = @Content(schema = @Schema(implementation = BulkImportResultVm.class))),
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkImportResultVm importFilms(@RequestBody List<FilmRequestVm> films) {
+        return filmImportService.importFilms(films);
+    }
+
+    @Operation(summary = "Import many films from NDJSON",
+            description = "Same as the JSON array import, but reads one film per line (application/x-ndjson) and imports each chunk as soon as it is read.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; see failed and errors for rejected rows",
+                    content = @Content(schema = @Schema(implementation = BulkImportResultVm.class))),
+    })
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    public BulkImportResultVm importFilmsNdjson(HttpServletRequest request) throws IOException {
+        return filmImportService.importNdjson(request.getReader());
     }
 
     @Operation(summary = "Update an existing film", description = "Updates the details of an existing film by its ID.")
@@ -99,12 +321,37 @@ public class FilmController {
     @PutMapping("/{id}")
     public ResponseEntity<FilmRequestVm> updateFilm(@Parameter(description = "ID of the film to update") @PathVariable Short id,
                                                     @Valid @RequestBody FilmRequestVm filmRequestVm) {
-        Film existingFilm = filmRepository.findById(id)
+        Film updatedFilm = filmRepository.replace(id, film -> filmMapper.mapToFilm(filmRequestVm, film))
                 .orElseThrow(() -> new ResourceNotFoundException("Film not found with id: " + id));
+        FilmRequestVm updatedFilmVm = filmMapper.mapToFilmRequestVm(updatedFilm);
+        eventPublisher.publishEvent(new FilmChangedEvent(id, ChangeType.UPDATED, updatedFilmVm));
+        return ResponseEntity.ok().eTag(ETagUtils.forRow(updatedFilm.getLastUpdate())).body(updatedFilmVm);
+    }
 
-        Film updatedFilm = mapToFilm(filmRequestVm, existingFilm);
-        filmRepository.save(updatedFilm);
-        return ResponseEntity.ok(mapToFilmRequestVm(updatedFilm));
+    @Operation(summary = "Partially update a film",
+            description = "Sets only the fields present in the JSON object, in one UPDATE that also checks If-Match against the current last_update. "
+                    + "Send the ETag from GET /api/v1/films/{id}, or * to skip the check. Returns the new ETag.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Film updated; the new ETag is in the response headers"),
+            @ApiResponse(responseCode = "400", description = "Unknown, read-only or invalid fields",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+            @ApiResponse(responseCode = "404", description = "Film or language not found",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+            @ApiResponse(responseCode = "412", description = "The film was changed since the given ETag",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+            @ApiResponse(responseCode = "428", description = "If-Match header missing",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+    })
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    public ResponseEntity<Void> patchFilm(@Parameter(description = "ID of the film to update") @PathVariable Short id,
+                                          @Parameter(description = "ETag of the version being changed, or *", example = "\"1139979822\"")
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          @RequestBody JsonNode patch) {
+        Instant lastUpdate = patchService.patchFilm(id, ifMatch, patch);
+        return ResponseEntity.noContent()
+                .eTag(ETagUtils.forRow(lastUpdate))
+                .lastModified(lastUpdate)
+                .build();
     }
 
     @Operation(summary = "Delete a film", description = "Deletes a film from the database by its ID.")
@@ -115,22 +362,54 @@ public class FilmController {
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteFilm(@Parameter(description = "ID of the film to delete") @PathVariable Short id) {
-        Film film = filmRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Film not found with id: " + id));
-        filmRepository.delete(film);
+        if (filmRepository.deleteFilmById(id) == 0) {
+            throw new ResourceNotFoundException("Film not found with id: " + id);
+        }
+        eventPublisher.publishEvent(new FilmChangedEvent(id, ChangeType.DELETED, null));
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Delete many films",
+            description = "Deletes the films with the given IDs, or every film matching the filter, with one DELETE per 500 rows. "
+                    + "Each chunk commits on its own, so a failure leaves earlier chunks deleted.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Films deleted",
+                    content = @Content(schema = @Schema(implementation = BulkDeleteResultVm.class))),
+            @ApiResponse(responseCode = "400", description = "Neither or both of ids and filter given, or an empty filter",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+            @ApiResponse(responseCode = "409", description = "A film is still referenced by other rows",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+    })
+    @PostMapping("/bulk-delete")
+    public BulkDeleteResultVm deleteFilms(@RequestBody FilmBulkDeleteRequestVm request) {
+        if ((request.getIds() == null) == (request.getFilter() == null)) {
+            throw new BadRequestException("Give either ids or filter");
+        }
+        if (request.getIds() != null) {
+            return bulkDeleteService.deleteFilms(request.getIds());
+        }
+        FilmSearchCriteria filter = request.getFilter();
+        Byte languageId = null;
+        if (filter.getLanguage() != null) {
+            Optional<Language> language = languageCache.findByName(filter.getLanguage());
+            if (language.isEmpty()) {
+                return BulkDeleteResultVm.builder().deleted(0).build();
+            }
+            languageId = language.get().getId();
+        }
+        return bulkDeleteService.deleteFilms(filter, languageId);
+    }
+
     @Operation(summary = "Find films by release year", description = "Gets a list of all films released in a specific year.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
                     content = @Content(schema = @Schema(implementation = List.class))),
     })
+    @TableETag(TableVersionService.FILM)
+    @CachedPage
     @GetMapping("/search/year/{year}")
     public List<FilmRequestVm> findFilmsByYear(@Parameter(description = "The 4-digit release year", example = "2006") @PathVariable Integer year) {
-        List<Film> films = filmRepository.findByReleaseYear(year);
-
-        return films.stream().map(this::mapToFilmRequestVm).toList();
+        return filmRepository.findViewsByReleaseYear(year);
     }
 
     @Operation(summary = "Find films by rating", description = "Gets a list of all films with a specific MPAA rating.")
@@ -138,11 +417,11 @@ public class FilmController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
                     content = @Content(schema = @Schema(implementation = List.class))),
     })
+    @TableETag(TableVersionService.FILM)
+    @CachedPage
     @GetMapping("/search/rating/{rating}")
     public List<FilmRequestVm> findFilmsByRating(@Parameter(description = "The rating to filter by (e.g., G, PG, PG-13, R, NC-17)", example = "PG-13") @PathVariable Rating rating) {
-        List<Film> films = filmRepository.findByRating(rating);
-
-        return films.stream().map(this::mapToFilmRequestVm).toList();
+        return filmRepository.findViewsByRating(rating);
     }
 
     @Operation(summary = "Find long films", description = "Gets a list of films longer than a given duration in minutes.")
@@ -150,25 +429,115 @@ public class FilmController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
                     content = @Content(schema = @Schema(implementation = List.class))),
     })
+    @TableETag(TableVersionService.FILM)
+    @CachedPage
     @GetMapping("/search/longer-than/{minutes}")
     public List<FilmRequestVm> findFilmsLongerThan(@Parameter(description = "The minimum length of the film in minutes", example = "180") @PathVariable Integer minutes) {
-        List<Film> films = filmRepository.findByLengthGreaterThan(minutes);
+        return filmRepository.findViewsByLengthGreaterThan(minutes);
+    }
 
-        return films.stream().map(this::mapToFilmRequestVm).toList();
+    @Operation(summary = "Search films by several criteria",
+            description = "Combines the optional rating, release year, length, language and rental rate filters into a single query. "
+                    + "The total number of matches is returned in the X-Total-Count header.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
+                    content = @Content(schema = @Schema(implementation = List.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown sort property, negative page or page size out of range",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+    })
+    @TableETag(TableVersionService.FILM)
+    @GetMapping("/search")
+    public ResponseEntity<List<FilmRequestVm>> searchFilms(
+            @ParameterObject FilmSearchCriteria criteria,
+            @Parameter(description = "Sort order as property[,asc|desc]; repeatable. Sortable: id, title, releaseYear, length, rentalRate, rating",
+                    example = "length,desc") @RequestParam(required = false) List<String> sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        PageUtils.check(page, size, maxPageSize);
+        Byte languageId = null;
+        if (criteria.getLanguage() != null) {
+            Optional<Language> language = languageCache.findByName(criteria.getLanguage());
+            if (language.isEmpty()) {
+                return ResponseEntity.ok().header("X-Total-Count", "0").body(List.of());
+            }
+            languageId = language.get().getId();
+        }
+        Sort order = SortUtils.parse(sort, FilmSpecifications.SORTABLE_COLUMNS.keySet(), "id");
+        indexAdvisor.record(FilmSpecifications.shapeOf(criteria, languageId, order));
+
+        Page<FilmRequestVm> films = filmRepository.findViews(FilmSpecifications.matching(criteria, languageId), PageRequest.of(page, size, order));
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(films.getTotalElements()))
+                .body(films.getContent());
     }
 
-    @Operation(summary = "Search films by title", description = "Finds films whose title contains the given keyword (case-insensitive).")
+    @Operation(summary = "Search films by title", description = "Finds films whose title contains the given keyword (case-insensitive), best matches first.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
                     content = @Content(schema = @Schema(implementation = List.class))),
+            @ApiResponse(responseCode = "400", description = "Negative page or page size out of range",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
     })
+    @TableETag(TableVersionService.FILM)
     @GetMapping("/search/title")
     public List<FilmRequestVm> searchFilmsByTitle(
             @Parameter(description = "Keyword to search for in the film title", example = "matrix") @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        Page<Film> films = filmRepository.findByTitleContainingIgnoreCase(keyword, PageRequest.of(page, size));
-        return films.stream().map(this::mapToFilmRequestVm).toList();
+        PageUtils.check(page, size, maxPageSize);
+        if (filmSearchIndex.isReady()) {
+            return findFilmsInOrder(filmSearchIndex.search(keyword, false, page, size).ids());
+        }
+        // The index is still loading: fall back to the LIKE query.
+        return filmRepository.findViewsByTitleContainingIgnoreCase(keyword, PageRequest.of(page, size));
+    }
+
+    @Operation(summary = "Full-text search in titles and descriptions",
+            description = "Finds films whose title or description contains the given text (case-insensitive). Title matches rank above description matches.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
+                    content = @Content(schema = @Schema(implementation = List.class))),
+            @ApiResponse(responseCode = "400", description = "Negative page or page size out of range",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+            @ApiResponse(responseCode = "503", description = "The search index is not built yet",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+    })
+    @TableETag(TableVersionService.FILM)
+    @GetMapping("/search/text")
+    public ResponseEntity<List<FilmRequestVm>> searchFilmsByText(
+            @Parameter(description = "Text to search for in the title and description", example = "database administrator") @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        PageUtils.check(page, size, maxPageSize);
+        if (!filmSearchIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        FilmSearchIndex.SearchResult result = filmSearchIndex.search(q, true, page, size);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.total()))
+                .body(findFilmsInOrder(result.ids()));
+    }
+
+    @Operation(summary = "Find films by special features",
+            description = "Gets films that have all of the required and none of the excluded special features, ordered by ID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
+                    content = @Content(schema = @Schema(implementation = List.class))),
+            @ApiResponse(responseCode = "400", description = "Negative page or page size out of range",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+    })
+    @TableETag(TableVersionService.FILM)
+    @CachedPage
+    @GetMapping("/search/features")
+    public List<FilmRequestVm> findFilmsBySpecialFeatures(
+            @Parameter(description = "Features the film must have", example = "Trailers") @RequestParam(required = false) Set<SpecialFeature> required,
+            @Parameter(description = "Features the film must not have", example = "Commentaries") @RequestParam(required = false) Set<SpecialFeature> excluded,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        PageUtils.check(page, size, maxPageSize);
+        int requiredMask = required == null ? 0 : SpecialFeatureSetConverter.toMask(required);
+        int excludedMask = excluded == null ? 0 : SpecialFeatureSetConverter.toMask(excluded);
+        return filmRepository.findViewsBySpecialFeatures(requiredMask, excludedMask, PageRequest.of(page, size));
     }
 
     @Operation(summary = "Find films by language", description = "Gets a list of all films available in a specific language.")
@@ -176,58 +545,26 @@ public class FilmController {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
                     content = @Content(schema = @Schema(implementation = List.class))),
     })
+    @TableETag(TableVersionService.FILM)
     @GetMapping("/search/language/{languageName}")
     public List<FilmRequestVm> findFilmsByLanguage(@Parameter(description = "The name of the language", example = "English") @PathVariable String languageName) {
-        List<Film> films = filmRepository.findByLanguageName(languageName);
-
-        return films.stream().map(this::mapToFilmRequestVm).toList();
-    }
-
-    private Film mapToFilm(FilmRequestVm filmRequestVm, Film film) {
-        log.info("Map FilmRequestVm {} to Film entity", filmRequestVm);
-        film.setTitle(filmRequestVm.getTitle());
-        film.setDescription(filmRequestVm.getDescription());
-        film.setReleaseYear(filmRequestVm.getReleaseYear());
-        film.setRentalDuration(filmRequestVm.getRentalDuration());
-        film.setRentalRate(filmRequestVm.getRentalRate());
-        film.setLength(filmRequestVm.getLength());
-        film.setReplacementCost(filmRequestVm.getReplacementCost());
-        film.setRating(filmRequestVm.getRating());
-        film.setSpecialFeatures(filmRequestVm.getSpecialFeatures());
-        film.setLastUpdate(Instant.now());
-
-        Language lang = languageRepository.findById(filmRequestVm.getLanguageId())
-                .orElseThrow(() -> new ResourceNotFoundException("Language not found with id: " + filmRequestVm.getLanguageId()));
-        film.setLanguage(lang);
-
-        if (filmRequestVm.getOriginalLanguageId() != null) {
-            Language origLang = languageRepository.findById(filmRequestVm.getOriginalLanguageId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Original language not found with id: " + filmRequestVm.getOriginalLanguageId()));
-            film.setOriginalLanguage(origLang);
-            log.info("Set originalLanguage to language with ID: {}", filmRequestVm.getOriginalLanguageId());
-        } else {
-            log.info("Original language ID is null, setting originalLanguage to null");
-            film.setOriginalLanguage(null);
-        }
-
-        return film;
-    }
-
-    private FilmRequestVm mapToFilmRequestVm(Film film) {
-        log.info("Map Film entity {} to FilmRequestVm", film);
-        return FilmRequestVm.builder()
-                .title(film.getTitle())
-                .description(film.getDescription())
-                .length(film.getLength())
-                .rentalRate(film.getRentalRate())
-                .rentalDuration(film.getRentalDuration())
-                .languageId(film.getLanguage().getId())
-                .originalLanguageId(film.getOriginalLanguage() != null ? film.getOriginalLanguage().getId() : null)
-                .rating(film.getRating())
-                .releaseYear(film.getReleaseYear())
-                .replacementCost(film.getReplacementCost())
-                .specialFeatures(film.getSpecialFeatures())
-                .build();
+        // Resolve the name in memory, then run an indexed lookup on language_id instead of joining language.
+        return languageCache.findByName(languageName)
+                .map(language -> filmRepository.findViewsByLanguageId(language.getId()))
+                .orElse(List.of());
     }
 
+
+    // Loads the films in one query and returns them in the order of the given IDs.
+    private List<FilmRequestVm> findFilmsInOrder(List<Short> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Short, FilmRequestVm> films = filmRepository.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(FilmRequestVm::getId, Function.identity()));
+        return ids.stream()
+                .map(films::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 }
@@ -0,0 +1,97 @@
+package com.core.hw1.controller;
+
+import com.core.hw1.jfr.FlightRecordings;
+import com.core.hw1.viewmodel.ErrorVm;
+import com.core.hw1.viewmodel.FlightRecordingVm;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Only mapped with app.jfr.enabled=true; otherwise /api/v1/admin/jfr/* is a 404.
+@RestController
+@RequestMapping("/api/v1/admin")
+@ConditionalOnProperty(prefix = "app.jfr", name = "enabled", havingValue = "true")
+@Tag(
+        name = "Admin Controller",
+        description = "Operational diagnostics"
+)
+public class FlightRecordingController {
+
+    private final FlightRecordings flightRecordings;
+
+    public FlightRecordingController(FlightRecordings flightRecordings) {
+        this.flightRecordings = flightRecordings;
+    }
+
+    @Operation(summary = "Flight recording status", description = "State and size of the on-demand JFR recording.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved status",
+                    content = @Content(schema = @Schema(implementation = FlightRecordingVm.class))),
+    })
+    @GetMapping("/jfr")
+    public FlightRecordingVm getFlightRecording() {
+        return flightRecordings.status();
+    }
+
+    @Operation(summary = "Start a flight recording",
+            description = "Starts a JFR recording with the JDK default settings plus jfr/hw1.jfc: request, repository and mapping "
+                    + "events and virtual thread pinning. History is bounded by app.jfr.max-age and app.jfr.max-size-bytes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recording started",
+                    content = @Content(schema = @Schema(implementation = FlightRecordingVm.class))),
+            @ApiResponse(responseCode = "409", description = "A recording is already running",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+    })
+    @PostMapping("/jfr/start")
+    public FlightRecordingVm startFlightRecording() {
+        return flightRecordings.start();
+    }
+
+    @Operation(summary = "Stop the flight recording", description = "Stops the recording; it can still be dumped until the next start.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recording stopped",
+                    content = @Content(schema = @Schema(implementation = FlightRecordingVm.class))),
+            @ApiResponse(responseCode = "409", description = "No recording is running",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+    })
+    @PostMapping("/jfr/stop")
+    public FlightRecordingVm stopFlightRecording() {
+        return flightRecordings.stop();
+    }
+
+    @Operation(summary = "Download the flight recording",
+            description = "Streams what has been recorded so far as a .jfr file, for JDK Mission Control or 'jfr print'. "
+                    + "A running recording keeps running.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recording streamed successfully"),
+            @ApiResponse(responseCode = "409", description = "Nothing has been recorded yet",
+                    content = @Content(schema = @Schema(implementation = ErrorVm.class))),
+    })
+    @GetMapping("/jfr/dump")
+    public void dumpFlightRecording(HttpServletResponse response) throws IOException {
+        Path file = flightRecordings.dump();
+        try {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"");
+            response.setContentLengthLong(Files.size(file));
+            Files.copy(file, response.getOutputStream());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.core.hw1.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    // Off by default: everything goes to spring.datasource.
+    private boolean enabled = false;
+
+    // After a client writes, its reads stay on the primary for this long so it sees its own changes.
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // Request header that identifies a client; the remote address is used when it is absent.
+    private String clientIdHeader = "X-Client-Id";
+
+    // Upper bound on clients tracked inside the read-your-writes window.
+    private long maxTrackedClients = 100_000;
+
+    // Read-only transactions are spread round-robin over these.
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        // Defaults to spring.datasource.username / password when not set.
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+    }
+}
@@ -0,0 +1,41 @@
+package com.core.hw1.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Keeps a client's reads on the primary for a while after it writes, so replica lag never hides its own changes.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWritesTracker tracker;
+    private final String clientIdHeader;
+
+    public ReadYourWritesFilter(ReadYourWritesTracker tracker, DataSourceRoutingProperties properties) {
+        this.tracker = tracker;
+        this.clientIdHeader = properties.getClientIdHeader();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientId = clientId(request);
+        RoutingContext context = RoutingContext.start(tracker.isPinned(clientId));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoutingContext.end();
+            if (context.hasWritten()) {
+                tracker.recordWrite(clientId);
+            }
+        }
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String header = request.getHeader(clientIdHeader);
+        return header != null && !header.isBlank() ? header : request.getRemoteAddr();
+    }
+}
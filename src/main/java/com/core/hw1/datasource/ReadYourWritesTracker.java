@@ -0,0 +1,25 @@
+package com.core.hw1.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Clients that wrote within the read-your-writes window. Entries expire on their own, so the set stays bounded.
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(DataSourceRoutingProperties properties) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .maximumSize(properties.getMaxTrackedClients())
+                .build();
+    }
+
+    public void recordWrite(String clientId) {
+        recentWriters.put(clientId, Boolean.TRUE);
+    }
+
+    public boolean isPinned(String clientId) {
+        return recentWriters.getIfPresent(clientId) != null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.core.hw1.datasource;
+
+// Per-request routing state, bound to the request thread by ReadYourWritesFilter.
+public class RoutingContext {
+
+    private static final ThreadLocal<RoutingContext> CURRENT = new ThreadLocal<>();
+
+    private final boolean pinnedToPrimary;
+    private boolean wrote;
+
+    private RoutingContext(boolean pinnedToPrimary) {
+        this.pinnedToPrimary = pinnedToPrimary;
+    }
+
+    public static RoutingContext start(boolean pinnedToPrimary) {
+        RoutingContext context = new RoutingContext(pinnedToPrimary);
+        CURRENT.set(context);
+        return context;
+    }
+
+    // Null outside of an HTTP request.
+    public static RoutingContext current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public boolean isPinnedToPrimary() {
+        // Once this request has written, its later reads must see the write too.
+        return pinnedToPrimary || wrote;
+    }
+
+    public void markWrite() {
+        wrote = true;
+    }
+
+    public boolean hasWritten() {
+        return wrote;
+    }
+}
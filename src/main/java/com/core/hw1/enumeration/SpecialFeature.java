@@ -9,6 +9,11 @@ public enum SpecialFeature {
     DELETED_SCENES("Deleted Scenes"),
     BEHIND_THE_SCENES("Behind the Scenes");
 
+    // Declaration order matches the SET definition, so mask bits line up with MySQL's numeric SET value.
+    private static final SpecialFeature[] VALUES = values();
+
+    public static final int COMBINATIONS = 1 << VALUES.length;
+
     private final String value;
 
     @JsonValue
@@ -16,17 +21,31 @@ public enum SpecialFeature {
         return value;
     }
 
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
     SpecialFeature(String value) {
         this.value = value;
     }
 
     public static SpecialFeature fromValue(String value) {
-        for (SpecialFeature feature : values()) {
-            if (feature.value.equalsIgnoreCase(value)) {
+        SpecialFeature feature = fromValue(value, 0, value.length());
+        if (feature == null) {
+            throw new IllegalArgumentException("Unknown special feature: " + value);
+        }
+        return feature;
+    }
+
+    // Matches value.substring(start, end) without allocating it; null if nothing matches.
+    public static SpecialFeature fromValue(String value, int start, int end) {
+        int length = end - start;
+        for (SpecialFeature feature : VALUES) {
+            if (feature.value.length() == length && feature.value.regionMatches(true, 0, value, start, length)) {
                 return feature;
             }
         }
-        throw new IllegalArgumentException("Unknown special feature: " + value);
+        return null;
     }
 
 }
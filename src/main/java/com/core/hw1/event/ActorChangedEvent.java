@@ -0,0 +1,7 @@
+package com.core.hw1.event;
+
+import com.core.hw1.model.Actor;
+
+// Published after an actor has been written. actor is the new state, or null when it was deleted.
+public record ActorChangedEvent(Short actorId, ChangeType type, Actor actor) {
+}
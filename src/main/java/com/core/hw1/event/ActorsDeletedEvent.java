@@ -0,0 +1,7 @@
+package com.core.hw1.event;
+
+import java.util.List;
+
+// Published once per bulk delete chunk so caches and indexes drop all the actors in one pass.
+public record ActorsDeletedEvent(List<Short> actorIds) {
+}
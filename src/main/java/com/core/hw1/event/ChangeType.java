@@ -0,0 +1,7 @@
+package com.core.hw1.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,20 @@
+package com.core.hw1.event;
+
+import com.core.hw1.viewmodel.FilmRequestVm;
+
+import java.util.Collections;
+import java.util.Set;
+
+// Published after a film has been written. film is the new state, or null when it was deleted. A patch lists the
+// properties it changed in changed (null means any may have) and its film only carries the properties of the
+// listeners it touches, so a listener must check touches(its properties) before reading film.
+public record FilmChangedEvent(Short filmId, ChangeType type, FilmRequestVm film, Set<String> changed) {
+
+    public FilmChangedEvent(Short filmId, ChangeType type, FilmRequestVm film) {
+        this(filmId, type, film, null);
+    }
+
+    public boolean touches(Set<String> properties) {
+        return changed == null || !Collections.disjoint(changed, properties);
+    }
+}
@@ -0,0 +1,9 @@
+package com.core.hw1.event;
+
+import com.core.hw1.viewmodel.FilmRequestVm;
+
+import java.util.List;
+
+// Published once per committed bulk import chunk with the inserted films, their new IDs and last_update set.
+public record FilmsImportedEvent(List<FilmRequestVm> films) {
+}
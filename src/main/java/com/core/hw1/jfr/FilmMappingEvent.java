@@ -0,0 +1,20 @@
+package com.core.hw1.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.core.hw1.FilmMapping")
+@Label("Film Mapping")
+@Category({"HW1", "Mapping"})
+@Description("Mapping a Film entity to a FilmRequestVm, including any lazy association it touches")
+@StackTrace(false)
+@Setter
+public class FilmMappingEvent extends jdk.jfr.Event {
+
+    @Label("Film Id")
+    private short filmId;
+}
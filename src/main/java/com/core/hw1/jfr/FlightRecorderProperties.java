@@ -0,0 +1,25 @@
+package com.core.hw1.jfr;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.jfr")
+public class FlightRecorderProperties {
+
+    // Recordings can be downloaded by anyone who reaches /api/v1/admin, so the endpoints are opt-in.
+    private boolean enabled = false;
+
+    // Overlay applied on top of the JDK "default" settings.
+    private String settings = "classpath:jfr/hw1.jfc";
+
+    // On-demand recordings keep at most this much history (whichever limit is hit first).
+    private Duration maxAge = Duration.ofMinutes(15);
+
+    private long maxSizeBytes = 256L * 1024 * 1024;
+
+}
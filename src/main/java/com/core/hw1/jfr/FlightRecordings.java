@@ -0,0 +1,145 @@
+package com.core.hw1.jfr;
+
+import com.core.hw1.exception.ConflictException;
+import com.core.hw1.viewmodel.FlightRecordingVm;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// The single on-demand flight recording behind /api/v1/admin/jfr. A lock rather than synchronized, so a virtual
+// thread dumping a large recording does not pin its carrier. Only created with app.jfr.enabled=true.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.jfr", name = "enabled", havingValue = "true")
+public class FlightRecordings {
+
+    private static final String RECORDING_NAME = "hw1-on-demand";
+
+    private final FlightRecorderProperties properties;
+    private final ResourceLoader resourceLoader;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Recording recording;
+
+    public FlightRecordings(FlightRecorderProperties properties, ResourceLoader resourceLoader) {
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+    }
+
+    public FlightRecordingVm start() {
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                throw new ConflictException("A recording is already running");
+            }
+            if (recording != null) {
+                recording.close();
+            }
+            Recording started = new Recording(settings());
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxAge(properties.getMaxAge());
+            started.setMaxSize(properties.getMaxSizeBytes());
+            started.start();
+            recording = started;
+            log.info("Started flight recording with {}", properties.getSettings());
+            return status();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public FlightRecordingVm stop() {
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() != RecordingState.RUNNING) {
+                throw new ConflictException("No recording is running");
+            }
+            recording.stop();
+            log.info("Stopped flight recording, {} bytes", recording.getSize());
+            return status();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public FlightRecordingVm status() {
+        lock.lock();
+        try {
+            if (recording == null) {
+                return FlightRecordingVm.builder().state("NONE").build();
+            }
+            return FlightRecordingVm.builder()
+                    .state(recording.getState().name())
+                    .startTime(recording.getStartTime())
+                    .stopTime(recording.getStopTime())
+                    .maxAge(recording.getMaxAge())
+                    .size(recording.getSize())
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Copies what has been recorded so far to a temporary file, which the caller deletes. A running recording keeps
+    // running.
+    public Path dump() throws IOException {
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() == RecordingState.NEW
+                    || recording.getState() == RecordingState.CLOSED) {
+                throw new ConflictException("Nothing has been recorded yet");
+            }
+            Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+            try {
+                recording.dump(file);
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(file);
+                throw ex;
+            }
+            return file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            if (recording != null) {
+                recording.close();
+                recording = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Map<String, String> settings() {
+        try (Reader reader = new InputStreamReader(
+                resourceLoader.getResource(properties.getSettings()).getInputStream(), StandardCharsets.UTF_8)) {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(Configuration.create(reader).getSettings());
+            return settings;
+        } catch (IOException | ParseException ex) {
+            throw new IllegalStateException("Could not load JFR settings from " + properties.getSettings(), ex);
+        }
+    }
+}
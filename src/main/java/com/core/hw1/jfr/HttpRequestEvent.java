@@ -0,0 +1,39 @@
+package com.core.hw1.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+// One per HTTP request, spanning LoggingFilter and everything inside it. With RepositoryCallEvent and
+// FilmMappingEvent on the same thread, the remainder is controller, serialization and filter time.
+@Name("com.core.hw1.HttpRequest")
+@Label("HTTP Request")
+@Category({"HW1", "HTTP"})
+@Description("An HTTP request as seen by LoggingFilter")
+@StackTrace(false)
+@Setter
+public class HttpRequestEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    private String method;
+
+    @Label("URI")
+    private String uri;
+
+    @Label("Status")
+    private int status;
+
+    @Label("Trace Id")
+    private String traceId;
+
+    @Label("DB Statements")
+    private int dbStatements;
+
+    @Label("DB Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long dbTime;
+}
@@ -0,0 +1,27 @@
+package com.core.hw1.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+// A call through a Spring Data repository proxy. For methods returning a Stream this only covers opening it.
+@Name("com.core.hw1.RepositoryCall")
+@Label("Repository Call")
+@Category({"HW1", "Persistence"})
+@Description("A call to FilmRepository or ActorRepository, including the transaction it opens")
+@StackTrace(false)
+@Setter
+public class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Failed")
+    private boolean failed;
+}
@@ -0,0 +1,50 @@
+package com.core.hw1.jfr;
+
+import com.core.hw1.repository.ActorRepository;
+import com.core.hw1.repository.FilmRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// Adds a RepositoryCallEvent interceptor to the FilmRepository and ActorRepository proxies. It is registered on the
+// factory beans before they build the proxies, so no AOP infrastructure is needed.
+@Component
+public class RepositoryEventPostProcessor implements BeanPostProcessor {
+
+    private static final Set<Class<?>> INSTRUMENTED = Set.of(FilmRepository.class, ActorRepository.class);
+
+    private static final MethodInterceptor INTERCEPTOR = invocation -> {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setRepository(invocation.getMethod().getDeclaringClass().getSimpleName());
+                event.setMethod(invocation.getMethod().getName());
+                event.setFailed(failed);
+                event.commit();
+            }
+        }
+    };
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> {
+                        if (INSTRUMENTED.contains(information.getRepositoryInterface())) {
+                            proxyFactory.addAdvice(INTERCEPTOR);
+                        }
+                    }));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,97 @@
+package com.core.hw1.mapper;
+
+import com.core.hw1.exception.ResourceNotFoundException;
+import com.core.hw1.jfr.FilmMappingEvent;
+import com.core.hw1.model.Film;
+import com.core.hw1.model.Language;
+import com.core.hw1.repository.LanguageRepository;
+import com.core.hw1.service.LanguageCache;
+import com.core.hw1.viewmodel.FilmRequestVm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+@Slf4j
+@Component
+public class FilmMapper {
+
+    private final LanguageRepository languageRepository;
+    private final LanguageCache languageCache;
+
+    public FilmMapper(LanguageRepository languageRepository, LanguageCache languageCache) {
+        this.languageRepository = languageRepository;
+        this.languageCache = languageCache;
+    }
+
+    public Film mapToFilm(FilmRequestVm filmRequestVm, Film film) {
+        if (log.isDebugEnabled()) {
+            log.debug("Map FilmRequestVm with title {} to Film entity", filmRequestVm.getTitle());
+        }
+        film.setTitle(filmRequestVm.getTitle());
+        film.setDescription(filmRequestVm.getDescription());
+        film.setReleaseYear(filmRequestVm.getReleaseYear());
+        film.setRentalDuration(filmRequestVm.getRentalDuration());
+        film.setRentalRate(filmRequestVm.getRentalRate());
+        film.setLength(filmRequestVm.getLength());
+        film.setReplacementCost(filmRequestVm.getReplacementCost());
+        film.setRating(filmRequestVm.getRating());
+        film.setSpecialFeatures(filmRequestVm.getSpecialFeatures());
+        // last_update is a TIMESTAMP with second precision; keep the entity equal to what gets stored.
+        // Existing films get their next version from FilmRepository.replace.
+        if (film.getLastUpdate() == null) {
+            film.setLastUpdate(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        }
+
+        // Existence is checked against the in-memory cache; getReferenceById only builds a proxy, no SELECT.
+        Language lang = languageCache.findById(filmRequestVm.getLanguageId())
+                .map(cached -> languageRepository.getReferenceById(cached.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Language not found with id: " + filmRequestVm.getLanguageId()));
+        film.setLanguage(lang);
+
+        if (filmRequestVm.getOriginalLanguageId() != null) {
+            Language origLang = languageCache.findById(filmRequestVm.getOriginalLanguageId())
+                    .map(cached -> languageRepository.getReferenceById(cached.getId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Original language not found with id: " + filmRequestVm.getOriginalLanguageId()));
+            film.setOriginalLanguage(origLang);
+            log.debug("Set originalLanguage to language with ID: {}", filmRequestVm.getOriginalLanguageId());
+        } else {
+            log.debug("Original language ID is null, setting originalLanguage to null");
+            film.setOriginalLanguage(null);
+        }
+
+        return film;
+    }
+
+    public FilmRequestVm mapToFilmRequestVm(Film film) {
+        // Runs once per row on list endpoints; keep it off the hot path unless debugging.
+        if (log.isDebugEnabled()) {
+            log.debug("Map Film entity {} to FilmRequestVm", film.getId());
+        }
+        FilmMappingEvent event = new FilmMappingEvent();
+        event.begin();
+        FilmRequestVm filmRequestVm = FilmRequestVm.builder()
+                .id(film.getId())
+                .title(film.getTitle())
+                .description(film.getDescription())
+                .length(film.getLength())
+                .rentalRate(film.getRentalRate())
+                .rentalDuration(film.getRentalDuration())
+                .languageId(film.getLanguage().getId())
+                .originalLanguageId(film.getOriginalLanguage() != null ? film.getOriginalLanguage().getId() : null)
+                .rating(film.getRating())
+                .releaseYear(film.getReleaseYear())
+                .replacementCost(film.getReplacementCost())
+                .specialFeatures(film.getSpecialFeatures())
+                .lastUpdate(film.getLastUpdate())
+                .build();
+        event.end();
+        if (event.shouldCommit()) {
+            event.setFilmId(film.getId());
+            event.commit();
+        }
+        return filmRequestVm;
+    }
+
+}
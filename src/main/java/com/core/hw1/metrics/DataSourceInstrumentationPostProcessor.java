@@ -0,0 +1,30 @@
+package com.core.hw1.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+public class DataSourceInstrumentationPostProcessor implements BeanPostProcessor {
+
+    // Only the DataSource that JPA and JdbcTemplate use, so nested pools are not counted twice.
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // Resolved lazily: a post-processor's own dependencies would otherwise be created before post-processing is set up.
+    private final ObjectProvider<QueryStatsRegistry> queryStatsRegistry;
+
+    public DataSourceInstrumentationPostProcessor(ObjectProvider<QueryStatsRegistry> queryStatsRegistry) {
+        this.queryStatsRegistry = queryStatsRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof InstrumentedDataSource)) {
+            return new InstrumentedDataSource(dataSource, queryStatsRegistry.getObject());
+        }
+        return bean;
+    }
+}
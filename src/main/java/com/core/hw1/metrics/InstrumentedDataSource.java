@@ -0,0 +1,153 @@
+package com.core.hw1.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Times every statement execution and counts the rows read from its result sets. Totals go to QueryStatsRegistry
+// per normalized statement and, during an HTTP request, to the request's RequestStats.
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final QueryStatsRegistry registry;
+
+    public InstrumentedDataSource(DataSource targetDataSource, QueryStatsRegistry registry) {
+        super(targetDataSource);
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection, registry));
+    }
+
+    private record ConnectionHandler(Connection target, QueryStatsRegistry registry) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement) {
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                // prepareStatement/prepareCall carry the SQL; a plain Statement gets it with each execute call.
+                QueryShapeStats shape = sqlArgument(args) instanceof String sql ? registry.shapeOf(sql) : null;
+                return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                        new Class<?>[]{type}, new StatementHandler(statement, registry, shape));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final QueryStatsRegistry registry;
+        private QueryShapeStats shape;
+
+        private StatementHandler(Statement target, QueryStatsRegistry registry, QueryShapeStats shape) {
+            this.target = target;
+            this.registry = registry;
+            this.shape = shape;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = invokeTarget(target, method, args);
+                return "getResultSet".equals(name) && result instanceof ResultSet resultSet && shape != null
+                        ? wrap(resultSet, shape)
+                        : result;
+            }
+            if (sqlArgument(args) instanceof String sql) {
+                shape = registry.shapeOf(sql);
+            }
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invokeTarget(target, method, args);
+            } finally {
+                long nanos = System.nanoTime() - start;
+                if (shape != null) {
+                    registry.recordExecution(shape, nanos);
+                    RequestStats stats = RequestStats.current();
+                    if (stats != null) {
+                        stats.recordStatement(shape, nanos);
+                    }
+                }
+            }
+            return result instanceof ResultSet resultSet && shape != null ? wrap(resultSet, shape) : result;
+        }
+
+        private static ResultSet wrap(ResultSet resultSet, QueryShapeStats shape) {
+            return (ResultSet) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, new ResultSetHandler(resultSet, shape, RequestStats.current()));
+        }
+    }
+
+    // Rows are added to the request as they are read and to the shape once, when the result set is closed.
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final QueryShapeStats shape;
+        private final RequestStats stats;
+        private long rows;
+        private boolean closed;
+
+        private ResultSetHandler(ResultSet target, QueryShapeStats shape, RequestStats stats) {
+            this.target = target;
+            this.shape = shape;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            String name = method.getName();
+            if ("next".equals(name)) {
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                    if (stats != null) {
+                        stats.recordRow();
+                    }
+                }
+            } else if ("close".equals(name) && !closed) {
+                closed = true;
+                shape.recordRows(rows);
+            }
+            return result;
+        }
+    }
+
+    private static Object sqlArgument(Object[] args) {
+        return args != null && args.length > 0 ? args[0] : null;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
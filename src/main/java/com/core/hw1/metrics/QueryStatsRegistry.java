@@ -0,0 +1,129 @@
+package com.core.hw1.metrics;
+
+import com.core.hw1.config.MdcInterceptor;
+import com.core.hw1.viewmodel.SlowQueryVm;
+import com.core.hw1.viewmodel.SqlShapeStatsVm;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ToLongFunction;
+
+// Statement statistics across all threads, keyed by normalized SQL, plus a ring buffer of the most recent slow
+// executions. Fed by InstrumentedDataSource.
+@Component
+public class QueryStatsRegistry {
+
+    static final String OTHER_SHAPE = "[other]";
+
+    private final long slowQueryNanos;
+    private final int maxShapes;
+
+    // Hibernate reuses the same SQL strings, so most lookups hit here and skip normalization.
+    private final Map<String, QueryShapeStats> byStatement = new ConcurrentHashMap<>();
+    private final Map<String, QueryShapeStats> byShape = new ConcurrentHashMap<>();
+
+    private final AtomicReferenceArray<SlowQueryVm> slowQueries;
+    private final AtomicLong slowQuerySequence = new AtomicLong();
+
+    public QueryStatsRegistry(SqlInstrumentationProperties properties) {
+        this.slowQueryNanos = properties.getSlowQueryThreshold().toNanos();
+        this.maxShapes = properties.getMaxShapes();
+        this.slowQueries = new AtomicReferenceArray<>(Math.max(1, properties.getSlowQueryBufferSize()));
+    }
+
+    QueryShapeStats shapeOf(String sql) {
+        QueryShapeStats stats = byStatement.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        String shape = SqlShapes.normalize(sql);
+        stats = byShape.size() < maxShapes || byShape.containsKey(shape)
+                ? byShape.computeIfAbsent(shape, QueryShapeStats::new)
+                : byShape.computeIfAbsent(OTHER_SHAPE, QueryShapeStats::new);
+        // Statements with inlined literals would otherwise grow this without bound.
+        if (byStatement.size() < maxShapes * 4) {
+            byStatement.put(sql, stats);
+        }
+        return stats;
+    }
+
+    void recordExecution(QueryShapeStats stats, long nanos) {
+        stats.recordExecution(nanos);
+        if (nanos >= slowQueryNanos) {
+            long sequence = slowQuerySequence.getAndIncrement();
+            slowQueries.set((int) (sequence % slowQueries.length()), SlowQueryVm.builder()
+                    .at(Instant.now())
+                    .shape(stats.getShape())
+                    .durationMs(nanos / 1e6)
+                    .traceId(MDC.get(MdcInterceptor.TRACE_ID_KEY))
+                    .thread(Thread.currentThread().getName())
+                    .build());
+        }
+    }
+
+    // Sorted by "total" (time), "max", "mean", "executions" or "rows", highest first.
+    public List<SqlShapeStatsVm> topShapes(String sortBy, int limit) {
+        ToLongFunction<QueryShapeStats> key = switch (sortBy) {
+            case "max" -> QueryShapeStats::getMaxNanos;
+            case "mean" -> stats -> stats.getTotalNanos() / Math.max(1, stats.getExecutions());
+            case "executions" -> QueryShapeStats::getExecutions;
+            case "rows" -> QueryShapeStats::getRows;
+            default -> QueryShapeStats::getTotalNanos;
+        };
+        return byShape.values().stream()
+                .sorted(Comparator.comparingLong(key).reversed())
+                .limit(limit)
+                .map(QueryStatsRegistry::toVm)
+                .toList();
+    }
+
+    // Most recent first.
+    public List<SlowQueryVm> slowQueries() {
+        List<SlowQueryVm> queries = new ArrayList<>(slowQueries.length());
+        for (int i = 0; i < slowQueries.length(); i++) {
+            queries.add(slowQueries.get(i));
+        }
+        return queries.stream()
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(SlowQueryVm::getAt).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        byStatement.clear();
+        byShape.clear();
+        for (int i = 0; i < slowQueries.length(); i++) {
+            slowQueries.set(i, null);
+        }
+    }
+
+    private static SqlShapeStatsVm toVm(QueryShapeStats stats) {
+        long executions = stats.getExecutions();
+        long[] buckets = stats.getBuckets();
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            histogram.put(i < QueryShapeStats.BUCKET_BOUNDS_MS.length
+                    ? "<=" + QueryShapeStats.BUCKET_BOUNDS_MS[i] + "ms"
+                    : ">" + QueryShapeStats.BUCKET_BOUNDS_MS[i - 1] + "ms", buckets[i]);
+        }
+        return SqlShapeStatsVm.builder()
+                .shape(stats.getShape())
+                .executions(executions)
+                .totalMs(stats.getTotalNanos() / 1e6)
+                .meanMs(executions == 0 ? 0 : stats.getTotalNanos() / 1e6 / executions)
+                .maxMs(stats.getMaxNanos() / 1e6)
+                .rows(stats.getRows())
+                .histogram(histogram)
+                .build();
+    }
+}
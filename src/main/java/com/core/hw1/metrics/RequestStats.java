@@ -0,0 +1,80 @@
+package com.core.hw1.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Per-request counters filled in by the JDBC instrumentation. Bound to the request thread by RouteMetricsFilter.
+public class RequestStats {
+
+    private static final ThreadLocal<RequestStats> CURRENT = new ThreadLocal<>();
+
+    private final int repeatedSelectThreshold;
+
+    private long dbNanos;
+    private int statementCount;
+    private long rowCount;
+    private Map<String, Integer> selectCounts;
+
+    // The SELECT shape executed most often once it reached the threshold, i.e. the likely N+1.
+    private String repeatedSelect;
+    private int repeatedSelectCount;
+
+    private RequestStats(int repeatedSelectThreshold) {
+        this.repeatedSelectThreshold = repeatedSelectThreshold;
+    }
+
+    public static RequestStats start(int repeatedSelectThreshold) {
+        RequestStats stats = new RequestStats(repeatedSelectThreshold);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // Null outside of an HTTP request, e.g. for scheduled or @Async work.
+    public static RequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(QueryShapeStats shape, long nanos) {
+        dbNanos += nanos;
+        statementCount++;
+        if (!shape.isSelect()) {
+            return;
+        }
+        if (selectCounts == null) {
+            selectCounts = new HashMap<>();
+        }
+        int count = selectCounts.merge(shape.getShape(), 1, Integer::sum);
+        if (count >= repeatedSelectThreshold && count > repeatedSelectCount) {
+            repeatedSelect = shape.getShape();
+            repeatedSelectCount = count;
+        }
+    }
+
+    void recordRow() {
+        rowCount++;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public String getRepeatedSelect() {
+        return repeatedSelect;
+    }
+
+    public int getRepeatedSelectCount() {
+        return repeatedSelectCount;
+    }
+}
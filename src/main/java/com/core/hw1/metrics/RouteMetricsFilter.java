@@ -0,0 +1,133 @@
+package com.core.hw1.metrics;
+
+import com.core.hw1.config.CapturingResponseWrapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Per-route latency, DB time, statement/row counts and response size distributions, keyed by handler method rather
+// than raw URI. Requests that repeat one SELECT shape many times (typically an N+1 over a lazy association) are logged.
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RouteMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNMATCHED_ROUTE = "UNMATCHED";
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final SqlInstrumentationProperties sqlProperties;
+    private final Map<String, RouteMeters> meters = new ConcurrentHashMap<>();
+
+    public RouteMetricsFilter(MeterRegistry meterRegistry, SqlInstrumentationProperties sqlProperties) {
+        this.meterRegistry = meterRegistry;
+        this.sqlProperties = sqlProperties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestStats stats = RequestStats.start(sqlProperties.getRepeatedSelectThreshold());
+        // A zero-byte capture limit only counts bytes.
+        CapturingResponseWrapper responseWrapper = new CapturingResponseWrapper(response, 0);
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            responseWrapper.flushWriter();
+            status = response.getStatus();
+        } finally {
+            RequestStats.end();
+            String routeName = route(request);
+            RouteMeters route = meters.computeIfAbsent(routeName, this::createMeters);
+            route.latency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            route.dbTime().record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+            route.statements().record(stats.getStatementCount());
+            route.rows().record(stats.getRowCount());
+            if (stats.getRepeatedSelect() != null) {
+                route.repeatedSelects().increment();
+                log.warn("Possible N+1 in {}: {} executions of {}", routeName, stats.getRepeatedSelectCount(),
+                        stats.getRepeatedSelect());
+            }
+            route.responseSize().record(responseWrapper.getByteCount());
+            if (status >= 500) {
+                route.serverErrors().increment();
+            } else if (status >= 400) {
+                route.clientErrors().increment();
+            }
+        }
+    }
+
+    // E.g. FilmController.findFilmsByRating; set by the DispatcherServlet once a handler is chosen.
+    private static String route(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return handler != null ? handler.getClass().getSimpleName() : UNMATCHED_ROUTE;
+    }
+
+    private RouteMeters createMeters(String route) {
+        return new RouteMeters(
+                Timer.builder("api.route.latency")
+                        .description("Request latency per handler method")
+                        .tag("route", route)
+                        .publishPercentiles(PERCENTILES)
+                        .register(meterRegistry),
+                Timer.builder("api.route.db.time")
+                        .description("Time spent executing JDBC statements per request")
+                        .tag("route", route)
+                        .publishPercentiles(PERCENTILES)
+                        .register(meterRegistry),
+                DistributionSummary.builder("api.route.db.statements")
+                        .description("JDBC statements executed per request")
+                        .tag("route", route)
+                        .publishPercentiles(PERCENTILES)
+                        .register(meterRegistry),
+                DistributionSummary.builder("api.route.db.rows")
+                        .description("Rows read from result sets per request")
+                        .tag("route", route)
+                        .publishPercentiles(PERCENTILES)
+                        .register(meterRegistry),
+                Counter.builder("api.route.db.repeated.selects")
+                        .description("Requests that ran one SELECT shape at least the repeated-select threshold times")
+                        .tag("route", route)
+                        .register(meterRegistry),
+                DistributionSummary.builder("api.route.response.size")
+                        .description("Response body size per request")
+                        .baseUnit("bytes")
+                        .tag("route", route)
+                        .publishPercentiles(PERCENTILES)
+                        .register(meterRegistry),
+                Counter.builder("api.route.errors")
+                        .tag("route", route)
+                        .tag("type", "client")
+                        .register(meterRegistry),
+                Counter.builder("api.route.errors")
+                        .tag("route", route)
+                        .tag("type", "server")
+                        .register(meterRegistry));
+    }
+
+    private record RouteMeters(Timer latency, Timer dbTime, DistributionSummary statements, DistributionSummary rows,
+                               Counter repeatedSelects, DistributionSummary responseSize,
+                               Counter clientErrors, Counter serverErrors) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.core.hw1.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sql.instrumentation")
+public class SqlInstrumentationProperties {
+
+    // Statements at least this slow are kept in the slow query buffer.
+    private Duration slowQueryThreshold = Duration.ofMillis(100);
+
+    private int slowQueryBufferSize = 200;
+
+    // Distinct normalized statements tracked; anything beyond is counted under a single catch-all shape.
+    private int maxShapes = 2000;
+
+    // A request running the same SELECT shape this many times is reported as a likely N+1.
+    private int repeatedSelectThreshold = 10;
+
+}
@@ -5,7 +5,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
@@ -28,7 +27,7 @@ public class Actor {
     @Column(name = "last_name", nullable = false, length = 45)
     private String lastName;
 
-    @UpdateTimestamp
+    // Set on create and moved forward by ActorRepository.replace and updateIfUnmodified; it is also the ETag.
     @Column(name = "last_update", nullable = false)
     private LocalDateTime lastUpdate;
 
@@ -15,6 +15,8 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.type.descriptor.java.Immutability;
 
 @Entity
 @Table(name = "film")
@@ -73,6 +75,8 @@ public class Film {
 
     @Column(name = "special_features", columnDefinition = "SET('Trailers', 'Commentaries', 'Deleted Scenes', 'Behind the Scenes')")
     @Convert(converter = SpecialFeatureSetConverter.class)
+    // The converter hands out shared unmodifiable sets, so Hibernate can skip the snapshot copy; changes go through the setter.
+    @Mutability(Immutability.class)
     private Set<SpecialFeature> specialFeatures;
 
     @NotNull
@@ -4,16 +4,19 @@ import java.time.Instant;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import com.core.hw1.model.listener.LanguageCacheListener;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "language")
+@EntityListeners(LanguageCacheListener.class)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -4,33 +4,112 @@ import com.core.hw1.enumeration.SpecialFeature;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.StringJoiner;
 
+// Encodes the set as a bitmask and looks both directions up in tables precomputed for all 16 combinations,
+// so loading a row does no splitting and returns a shared, unmodifiable set.
 @Converter
 public class SpecialFeatureSetConverter implements AttributeConverter<Set<SpecialFeature>, String> {
 
-    private static final String SEPARATOR = ",";
+    private static final char SEPARATOR = ',';
+
+    private static final String[] MASK_TO_COLUMN = new String[SpecialFeature.COMBINATIONS];
+    private static final List<Set<SpecialFeature>> MASK_TO_SET = new ArrayList<>(SpecialFeature.COMBINATIONS);
+
+    static {
+        for (int mask = 0; mask < SpecialFeature.COMBINATIONS; mask++) {
+            EnumSet<SpecialFeature> features = EnumSet.noneOf(SpecialFeature.class);
+            StringJoiner column = new StringJoiner(String.valueOf(SEPARATOR));
+            for (SpecialFeature feature : SpecialFeature.values()) {
+                if ((mask & feature.getMask()) != 0) {
+                    features.add(feature);
+                    column.add(feature.getValue());
+                }
+            }
+            MASK_TO_COLUMN[mask] = mask == 0 ? null : column.toString();
+            MASK_TO_SET.add(Collections.unmodifiableSet(features));
+        }
+    }
 
     @Override
     public String convertToDatabaseColumn(Set<SpecialFeature> attribute) {
-        if (attribute == null || attribute.isEmpty()) {
+        if (attribute == null) {
             return null;
         }
-        return attribute.stream()
-            .map(SpecialFeature::getValue)
-            .collect(Collectors.joining(SEPARATOR));
+        return toColumnValue(toMask(attribute));
     }
 
     @Override
     public Set<SpecialFeature> convertToEntityAttribute(String dbData) {
-        if (dbData == null || dbData.trim().isEmpty()) {
-            return new HashSet<>();
+        if (dbData == null) {
+            return fromMask(0);
+        }
+        return fromMask(parseMask(dbData));
+    }
+
+    public static int toMask(Set<SpecialFeature> features) {
+        int mask = 0;
+        for (SpecialFeature feature : features) {
+            mask |= feature.getMask();
+        }
+        return mask;
+    }
+
+    public static Set<SpecialFeature> fromMask(int mask) {
+        return MASK_TO_SET.get(mask);
+    }
+
+    // Canonical column value in SET definition order; null for the empty set.
+    public static String toColumnValue(int mask) {
+        return MASK_TO_COLUMN[mask];
+    }
+
+    // Every stored value containing all required and none of the excluded features; lets the filter run as
+    // an IN list on the bare column instead of a string or bit-function predicate the index cannot serve.
+    public static List<Integer> masksMatching(int required, int excluded) {
+        List<Integer> masks = new ArrayList<>();
+        if ((required & excluded) != 0) {
+            return masks;
+        }
+        for (int mask = 0; mask < SpecialFeature.COMBINATIONS; mask++) {
+            if ((mask & required) == required && (mask & excluded) == 0) {
+                masks.add(mask);
+            }
+        }
+        return masks;
+    }
+
+    public static int parseMask(String column) {
+        int mask = 0;
+        int start = 0;
+        int length = column.length();
+        while (start <= length) {
+            int end = column.indexOf(SEPARATOR, start);
+            if (end < 0) {
+                end = length;
+            }
+            int tokenStart = start;
+            int tokenEnd = end;
+            while (tokenStart < tokenEnd && Character.isWhitespace(column.charAt(tokenStart))) {
+                tokenStart++;
+            }
+            while (tokenEnd > tokenStart && Character.isWhitespace(column.charAt(tokenEnd - 1))) {
+                tokenEnd--;
+            }
+            if (tokenStart < tokenEnd) {
+                SpecialFeature feature = SpecialFeature.fromValue(column, tokenStart, tokenEnd);
+                if (feature == null) {
+                    throw new IllegalArgumentException("Unknown special feature: " + column.substring(tokenStart, tokenEnd));
+                }
+                mask |= feature.getMask();
+            }
+            start = end + 1;
         }
-        return Arrays.stream(dbData.split(SEPARATOR))
-                .map(SpecialFeature::fromValue)
-                .collect(Collectors.toSet());
+        return mask;
     }
 }
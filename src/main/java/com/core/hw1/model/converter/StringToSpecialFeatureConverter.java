@@ -0,0 +1,26 @@
+package com.core.hw1.model.converter;
+
+import com.core.hw1.enumeration.SpecialFeature;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+// Accepts both the display value ("Deleted Scenes") and the constant name (DELETED_SCENES) in request parameters.
+@Component
+public class StringToSpecialFeatureConverter implements Converter<String, SpecialFeature> {
+
+    @Override
+    public SpecialFeature convert(String source) {
+        String value = source.trim();
+        SpecialFeature feature = SpecialFeature.fromValue(value, 0, value.length());
+        if (feature != null) {
+            return feature;
+        }
+        for (SpecialFeature candidate : SpecialFeature.values()) {
+            if (candidate.name().equalsIgnoreCase(value)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Unknown special feature: " + source);
+    }
+
+}
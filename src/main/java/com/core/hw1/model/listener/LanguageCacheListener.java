@@ -0,0 +1,30 @@
+package com.core.hw1.model.listener;
+
+import com.core.hw1.model.Language;
+import com.core.hw1.service.LanguageCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+// Keeps LanguageCache in step with language changes made through JPA.
+public class LanguageCacheListener {
+
+    // Resolved lazily: the listener is created while the EntityManagerFactory the cache depends on is being built.
+    private final ObjectProvider<LanguageCache> languageCache;
+
+    public LanguageCacheListener(ObjectProvider<LanguageCache> languageCache) {
+        this.languageCache = languageCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Language language) {
+        languageCache.ifAvailable(cache -> cache.put(language));
+    }
+
+    @PostRemove
+    public void onRemove(Language language) {
+        languageCache.ifAvailable(cache -> cache.evict(language));
+    }
+}
@@ -0,0 +1,17 @@
+package com.core.hw1.repository;
+
+import com.core.hw1.model.Actor;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface ActorPatchRepository {
+
+    // Same contract as FilmPatchRepository.updateIfUnmodified; the whole actor is read back, in one SELECT.
+    Optional<Actor> updateIfUnmodified(Short id, Map<String, Object> changes, Instant expectedLastUpdate);
+
+    // Same contract as FilmPatchRepository.replace.
+    Optional<Actor> replace(Short id, Consumer<Actor> changes);
+}
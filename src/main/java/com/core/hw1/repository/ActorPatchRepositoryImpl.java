@@ -0,0 +1,52 @@
+package com.core.hw1.repository;
+
+import com.core.hw1.model.Actor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// actor.last_update is mapped as LocalDateTime, which JDBC reads in the JVM's time zone.
+public class ActorPatchRepositoryImpl implements ActorPatchRepository {
+
+    private final EntityManager entityManager;
+
+    public ActorPatchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public Optional<Actor> updateIfUnmodified(Short id, Map<String, Object> changes, Instant expectedLastUpdate) {
+        LocalDateTime from = expectedLastUpdate == null ? null : LocalDateTime.ofInstant(expectedLastUpdate, ZoneId.systemDefault());
+        LocalDateTime to = from == null ? null : from.plusSeconds(1);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        if (ConditionalUpdates.update(entityManager, Actor.class, "actorId", id, changes,
+                "lastUpdate", from, to, now) == 0) {
+            return Optional.empty();
+        }
+        return ConditionalUpdates.readBack(entityManager, Actor.class, "actorId", id, List.of("firstName", "lastName", "lastUpdate"))
+                .map(row -> new Actor(id, row.get(0, String.class), row.get(1, String.class), row.get(2, LocalDateTime.class)));
+    }
+
+    @Override
+    @Transactional
+    public Optional<Actor> replace(Short id, Consumer<Actor> changes) {
+        Actor actor = entityManager.find(Actor.class, id, LockModeType.PESSIMISTIC_WRITE);
+        if (actor == null) {
+            return Optional.empty();
+        }
+        Instant current = actor.getLastUpdate() == null ? null : actor.getLastUpdate().atZone(ZoneId.systemDefault()).toInstant();
+        changes.accept(actor);
+        actor.setLastUpdate(LocalDateTime.ofInstant(ConditionalUpdates.nextVersion(current), ZoneId.systemDefault()));
+        return Optional.of(actor);
+    }
+}
@@ -1,9 +1,45 @@
 package com.core.hw1.repository;
 
 import com.core.hw1.model.Actor;
+import com.core.hw1.repository.projection.TableVersion;
+import com.core.hw1.viewmodel.ActorVm;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ActorRepository extends JpaRepository<Actor, Short> {
+public interface ActorRepository extends JpaRepository<Actor, Short>, ActorPatchRepository {
+
+    // Selects the view directly, so list pages load no entities; a List return type skips the count query a Page
+    // would need.
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.core.hw1.viewmodel.ActorVm(a.actorId, a.firstName, a.lastName, a.lastUpdate) FROM Actor a")
+    List<ActorVm> findViews(Pageable pageable);
+
+    // Validator for conditional GETs: a primary key lookup of one column.
+    @Transactional(readOnly = true)
+    @Query("SELECT a.lastUpdate FROM Actor a WHERE a.actorId = :id")
+    Optional<LocalDateTime> findLastUpdateById(Short id);
+
+    @Query("SELECT new com.core.hw1.repository.projection.TableVersion(COUNT(a), MAX(a.lastUpdate)) FROM Actor a")
+    TableVersion findTableVersion();
+
+    // Single statement; the row count tells whether the actor existed.
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Actor a WHERE a.actorId = :id")
+    int deleteActorById(Short id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Actor a WHERE a.actorId IN :ids")
+    int deleteActorsByIdIn(Collection<Short> ids);
 }
@@ -0,0 +1,84 @@
+package com.core.hw1.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaUpdate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Builds UPDATE ... SET <changed columns>, version = GREATEST(now, version + 1s) WHERE id = ? [AND version in [from, to)]
+// as one statement. Attribute converters apply to the bound values, so enums and sets can be passed as they are.
+//
+// The version is last_update, which has second precision. Every write moves it to a later second than the one it
+// replaces, even within the same second, and never backwards, so a version is never handed out twice for a row.
+final class ConditionalUpdates {
+
+    private static final Duration VERSION_STEP = Duration.ofSeconds(1);
+
+    private ConditionalUpdates() {
+    }
+
+    static <T, V extends Temporal & Comparable<? super V>> int update(EntityManager entityManager, Class<T> entityType,
+                                                                       String idAttribute, Object id, Map<String, Object> changes,
+                                                                       String versionAttribute, V versionFrom, V versionTo, V now) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        JpaCriteriaUpdate<T> update = cb.createCriteriaUpdate(entityType);
+        Root<T> root = update.from(entityType);
+        changes.forEach((attribute, value) -> update.set(root.get(attribute), value));
+        Path<V> version = root.get(versionAttribute);
+        Expression<V> nextVersion = cb.<V>selectCase()
+                .when(cb.greaterThanOrEqualTo(version, now), cb.addDuration(version, VERSION_STEP))
+                .otherwise(now);
+        update.set(version, nextVersion);
+
+        List<Predicate> predicates = new ArrayList<>(3);
+        predicates.add(cb.equal(root.get(idAttribute), id));
+        if (versionFrom != null) {
+            predicates.add(cb.greaterThanOrEqualTo(version, versionFrom));
+            predicates.add(cb.lessThan(version, versionTo));
+        }
+        update.where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    // Reads the given attributes back after update(), in the same transaction and as one SELECT, so the new version
+    // and any new state cost a single round trip. Nested attributes are dotted; "language.id" reads the foreign key
+    // without a join.
+    static <T> Optional<Tuple> readBack(EntityManager entityManager, Class<T> entityType, String idAttribute, Object id,
+                                        List<String> attributes) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityType);
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            Path<?> path = root;
+            for (String name : attribute.split("\\.")) {
+                path = path.get(name);
+            }
+            selections.add(path);
+        }
+        query.multiselect(selections).where(cb.equal(root.get(idAttribute), id));
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    // The same rule as update() for writes that go through a loaded entity.
+    static Instant nextVersion(Instant current) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        return current != null && !now.isAfter(current) ? current.plus(VERSION_STEP) : now;
+    }
+}
@@ -0,0 +1,23 @@
+package com.core.hw1.repository;
+
+import com.core.hw1.model.Film;
+import com.core.hw1.viewmodel.FilmRequestVm;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface FilmPatchRepository {
+
+    // Applies the changes (entity attribute name to value) only if last_update still falls in the second of
+    // expectedLastUpdate; null skips the check. Returns the film with its id, new last_update and the readBack
+    // properties (FilmRequestVm names) filled in from one SELECT, or empty when no row was updated.
+    Optional<FilmRequestVm> updateIfUnmodified(Short id, Map<String, Object> changes, Instant expectedLastUpdate,
+                                               Set<String> readBack);
+
+    // Full replacement: loads the film with a row lock, applies the changes and moves last_update forward, so it
+    // cannot interleave with a conditional update. Empty when there is no such film.
+    Optional<Film> replace(Short id, Consumer<Film> changes);
+}
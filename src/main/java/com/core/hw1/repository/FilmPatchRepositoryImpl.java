@@ -0,0 +1,90 @@
+package com.core.hw1.repository;
+
+import com.core.hw1.enumeration.Rating;
+import com.core.hw1.enumeration.SpecialFeature;
+import com.core.hw1.model.Film;
+import com.core.hw1.viewmodel.FilmRequestVm;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class FilmPatchRepositoryImpl implements FilmPatchRepository {
+
+    private final EntityManager entityManager;
+
+    public FilmPatchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public Optional<FilmRequestVm> updateIfUnmodified(Short id, Map<String, Object> changes, Instant expectedLastUpdate,
+                                                      Set<String> readBack) {
+        Instant to = expectedLastUpdate == null ? null : expectedLastUpdate.plusSeconds(1);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        if (ConditionalUpdates.update(entityManager, Film.class, "id", id, changes,
+                "lastUpdate", expectedLastUpdate, to, now) == 0) {
+            return Optional.empty();
+        }
+        List<String> properties = List.copyOf(readBack);
+        List<String> attributes = new ArrayList<>(properties.size() + 1);
+        attributes.add("lastUpdate");
+        properties.forEach(property -> attributes.add(attributeOf(property)));
+        return ConditionalUpdates.readBack(entityManager, Film.class, "id", id, attributes).map(row -> {
+            FilmRequestVm film = FilmRequestVm.builder().id(id).lastUpdate(row.get(0, Instant.class)).build();
+            for (int i = 0; i < properties.size(); i++) {
+                set(film, properties.get(i), row.get(i + 1));
+            }
+            return film;
+        });
+    }
+
+    @Override
+    @Transactional
+    public Optional<Film> replace(Short id, Consumer<Film> changes) {
+        Film film = entityManager.find(Film.class, id, LockModeType.PESSIMISTIC_WRITE);
+        if (film == null) {
+            return Optional.empty();
+        }
+        Instant current = film.getLastUpdate();
+        changes.accept(film);
+        film.setLastUpdate(ConditionalUpdates.nextVersion(current));
+        return Optional.of(film);
+    }
+
+    private static String attributeOf(String property) {
+        return switch (property) {
+            case "languageId" -> "language.id";
+            case "originalLanguageId" -> "originalLanguage.id";
+            default -> property;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void set(FilmRequestVm film, String property, Object value) {
+        switch (property) {
+            case "title" -> film.setTitle((String) value);
+            case "description" -> film.setDescription((String) value);
+            case "releaseYear" -> film.setReleaseYear((Integer) value);
+            case "languageId" -> film.setLanguageId((Byte) value);
+            case "originalLanguageId" -> film.setOriginalLanguageId((Byte) value);
+            case "rentalDuration" -> film.setRentalDuration((Byte) value);
+            case "rentalRate" -> film.setRentalRate((BigDecimal) value);
+            case "length" -> film.setLength((Integer) value);
+            case "replacementCost" -> film.setReplacementCost((BigDecimal) value);
+            case "rating" -> film.setRating((Rating) value);
+            case "specialFeatures" -> film.setSpecialFeatures((Set<SpecialFeature>) value);
+            default -> throw new IllegalArgumentException("Cannot read back: " + property);
+        }
+    }
+}
@@ -3,25 +3,130 @@ package com.core.hw1.repository;
 import com.core.hw1.enumeration.Rating;
 import com.core.hw1.enumeration.SpecialFeature;
 import com.core.hw1.model.Film;
-import org.springframework.data.domain.Page;
+import com.core.hw1.model.converter.SpecialFeatureSetConverter;
+import com.core.hw1.repository.projection.FilmStatsRow;
+import com.core.hw1.repository.projection.FilmTextView;
+import com.core.hw1.repository.projection.TableVersion;
+import com.core.hw1.repository.specification.FilmSpecifications;
+import com.core.hw1.viewmodel.FilmRequestVm;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface FilmRepository extends JpaRepository<Film, Short> {
-    List<Film> findByRating(Rating rating);
+public interface FilmRepository extends JpaRepository<Film, Short>, JpaSpecificationExecutor<Film>, FilmViewRepository,
+        FilmPatchRepository {
 
-    List<Film> findByReleaseYear(Integer year);
+    // Builds the view straight from the columns: no managed entities, no snapshots, and the language IDs come
+    // from the foreign key columns without touching the language table.
+    String VIEW_SELECT = "SELECT new com.core.hw1.viewmodel.FilmRequestVm(f.id, f.title, f.description, f.releaseYear,"
+            + " f.language.id, f.originalLanguage.id, f.rentalDuration, f.rentalRate, f.length, f.replacementCost,"
+            + " f.rating, f.specialFeatures, f.lastUpdate) FROM Film f";
 
-    List<Film> findByLengthGreaterThan(Integer lengthIsGreaterThan);
+    @Transactional(readOnly = true)
+    @Query(VIEW_SELECT + " WHERE f.id = :id")
+    Optional<FilmRequestVm> findViewById(Short id);
 
-    Page<Film> findByTitleContainingIgnoreCase(String title, Pageable pageable);
+    // Validator for conditional GETs: a primary key lookup of one column.
+    @Transactional(readOnly = true)
+    @Query("SELECT f.lastUpdate FROM Film f WHERE f.id = :id")
+    Optional<Instant> findLastUpdateById(Short id);
 
-    @Query("SELECT f FROM Film f JOIN f.language l WHERE l.name = :languageName")
-    List<Film> findByLanguageName(String languageName);
-}
\ No newline at end of file
+    @Transactional(readOnly = true)
+    @Query(VIEW_SELECT + " WHERE f.id IN :ids")
+    List<FilmRequestVm> findViewsByIdIn(Collection<Short> ids);
+
+    // A List result skips the COUNT query a Page would need.
+    @Transactional(readOnly = true)
+    @Query(VIEW_SELECT + " ORDER BY f.id")
+    List<FilmRequestVm> findViews(Pageable pageable);
+
+    // Keyset (seek) pagination: no OFFSET and no COUNT query, so deep pages cost the same as the first one.
+    @Transactional(readOnly = true)
+    @Query(VIEW_SELECT + " WHERE f.id > :id ORDER BY f.id")
+    List<FilmRequestVm> findViewsAfterId(Short id, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(VIEW_SELECT + " WHERE f.rating = :rating")
+    List<FilmRequestVm> findViewsByRating(Rating rating);
+
+    @Transactional(readOnly = true)
+    @Query(VIEW_SELECT + " WHERE f.releaseYear = :year")
+    List<FilmRequestVm> findViewsByReleaseYear(Integer year);
+
+    @Transactional(readOnly = true)
+    @Query(VIEW_SELECT + " WHERE f.length > :length")
+    List<FilmRequestVm> findViewsByLengthGreaterThan(Integer length);
+
+    // Filters on the language_id foreign key column, no join needed.
+    @Transactional(readOnly = true)
+    @Query(VIEW_SELECT + " WHERE f.language.id = :languageId")
+    List<FilmRequestVm> findViewsByLanguageId(Byte languageId);
+
+    @Transactional(readOnly = true)
+    @Query(VIEW_SELECT + " WHERE UPPER(f.title) LIKE UPPER(CONCAT('%', :title, '%'))")
+    List<FilmRequestVm> findViewsByTitleContainingIgnoreCase(String title, Pageable pageable);
+
+    // Forward-only read for exports. On MySQL the fetch size only takes effect with useCursorFetch=true.
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW_SELECT + " ORDER BY f.id")
+    Stream<FilmRequestVm> streamAllViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT f.id AS id, f.title AS title, f.description AS description FROM Film f")
+    Stream<FilmTextView> streamAllText();
+
+    // Equality against the bare SET column (one bound value per matching mask), so MySQL can use an index on special_features.
+    default List<FilmRequestVm> findViewsBySpecialFeatures(int requiredMask, int excludedMask, Pageable pageable) {
+        List<Integer> masks = SpecialFeatureSetConverter.masksMatching(requiredMask, excludedMask);
+        if (masks.isEmpty()) {
+            return List.of();
+        }
+        List<Set<SpecialFeature>> values = new ArrayList<>(masks.size());
+        for (int mask : masks) {
+            values.add(SpecialFeatureSetConverter.fromMask(mask));
+        }
+        return findViewList(FilmSpecifications.hasSpecialFeaturesIn(values),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id")));
+    }
+
+    String STATS_SELECT = "SELECT new com.core.hw1.repository.projection.FilmStatsRow(f.id, f.rating, f.releaseYear,"
+            + " f.language.id, f.length, f.rentalRate) FROM Film f";
+
+    @Transactional(readOnly = true)
+    @Query(STATS_SELECT)
+    List<FilmStatsRow> findAllStatsRows();
+
+    @Query("SELECT new com.core.hw1.repository.projection.TableVersion(COUNT(f), MAX(f.lastUpdate)) FROM Film f")
+    TableVersion findTableVersion();
+
+    // Single statement; the row count tells whether the film existed.
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Film f WHERE f.id = :id")
+    int deleteFilmById(Short id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Film f WHERE f.id IN :ids")
+    int deleteFilmsByIdIn(Collection<Short> ids);
+}
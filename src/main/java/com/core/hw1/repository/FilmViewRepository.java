@@ -0,0 +1,21 @@
+package com.core.hw1.repository;
+
+import com.core.hw1.model.Film;
+import com.core.hw1.viewmodel.FilmRequestVm;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Specification queries that select FilmRequestVm directly instead of Film entities.
+public interface FilmViewRepository {
+
+    Page<FilmRequestVm> findViews(Specification<Film> specification, Pageable pageable);
+
+    // Like findViews, without the COUNT query.
+    List<FilmRequestVm> findViewList(Specification<Film> specification, Pageable pageable);
+
+    // Keyset scan over the matching IDs only, in ID order.
+    List<Short> findIdsAfter(Specification<Film> specification, Short afterId, int limit);
+}
@@ -0,0 +1,82 @@
+package com.core.hw1.repository;
+
+import com.core.hw1.model.Film;
+import com.core.hw1.viewmodel.FilmRequestVm;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public class FilmViewRepositoryImpl implements FilmViewRepository {
+
+    private final EntityManager entityManager;
+
+    public FilmViewRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<FilmRequestVm> findViews(Specification<Film> specification, Pageable pageable) {
+        List<FilmRequestVm> content = findViewList(specification, pageable);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<Film> root = countQuery.from(Film.class);
+        countQuery.select(cb.count(root));
+        Predicate predicate = specification.toPredicate(root, countQuery, cb);
+        if (predicate != null) {
+            countQuery.where(predicate);
+        }
+        // Skips the COUNT when the page itself shows where the results end.
+        return PageableExecutionUtils.getPage(content, pageable, () -> entityManager.createQuery(countQuery).getSingleResult());
+    }
+
+    // Same constructor expression as FilmRepository.VIEW_SELECT, built with the Criteria API.
+    @Override
+    @Transactional(readOnly = true)
+    public List<FilmRequestVm> findViewList(Specification<Film> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FilmRequestVm> query = cb.createQuery(FilmRequestVm.class);
+        Root<Film> root = query.from(Film.class);
+        query.select(cb.construct(FilmRequestVm.class,
+                root.get("id"), root.get("title"), root.get("description"), root.get("releaseYear"),
+                root.get("language").get("id"), root.get("originalLanguage").get("id"),
+                root.get("rentalDuration"), root.get("rentalRate"), root.get("length"), root.get("replacementCost"),
+                root.get("rating"), root.get("specialFeatures"), root.get("lastUpdate")));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Short> findIdsAfter(Specification<Film> specification, Short afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Short> query = cb.createQuery(Short.class);
+        Root<Film> root = query.from(Film.class);
+        query.select(root.get("id"));
+        Predicate after = cb.greaterThan(root.get("id"), afterId);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        query.where(predicate == null ? after : cb.and(predicate, after));
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
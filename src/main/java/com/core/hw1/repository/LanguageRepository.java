@@ -4,6 +4,9 @@ import com.core.hw1.model.Language;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface LanguageRepository extends JpaRepository<Language, Byte> {
-}
\ No newline at end of file
+    Optional<Language> findFirstByNameIgnoreCase(String name);
+}
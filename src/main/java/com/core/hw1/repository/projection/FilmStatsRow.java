@@ -0,0 +1,16 @@
+package com.core.hw1.repository.projection;
+
+import com.core.hw1.enumeration.Rating;
+import com.core.hw1.viewmodel.FilmRequestVm;
+
+import java.math.BigDecimal;
+
+// The columns a film contributes to the catalog statistics.
+public record FilmStatsRow(Short id, Rating rating, Integer releaseYear, Byte languageId, Integer length,
+                           BigDecimal rentalRate) {
+
+    public static FilmStatsRow of(FilmRequestVm film) {
+        return new FilmStatsRow(film.getId(), film.getRating(), film.getReleaseYear(), film.getLanguageId(),
+                film.getLength(), film.getRentalRate());
+    }
+}
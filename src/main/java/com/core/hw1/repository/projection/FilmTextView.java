@@ -0,0 +1,12 @@
+package com.core.hw1.repository.projection;
+
+// Just the searchable text of a film, used to build the in-memory search index.
+public interface FilmTextView {
+
+    Short getId();
+
+    String getTitle();
+
+    String getDescription();
+
+}
@@ -0,0 +1,14 @@
+package com.core.hw1.repository.projection;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Cheap change marker for a table: any insert, update or delete moves at least one of the two values.
+public record TableVersion(Long rowCount, Instant lastUpdate) {
+
+    // For tables mapped with LocalDateTime, which JDBC reads in the JVM's time zone.
+    public TableVersion(Long rowCount, LocalDateTime lastUpdate) {
+        this(rowCount, lastUpdate == null ? null : lastUpdate.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,132 @@
+package com.core.hw1.repository.specification;
+
+import com.core.hw1.enumeration.Rating;
+import com.core.hw1.enumeration.SpecialFeature;
+import com.core.hw1.model.Film;
+import com.core.hw1.viewmodel.FilmSearchCriteria;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Building blocks for FilmRepository.findAll(Specification, ...). Each returns null for a missing argument,
+// which Specification.allOf skips, so only the supplied filters end up in the WHERE clause.
+public final class FilmSpecifications {
+
+    private static final String TABLE = "film";
+
+    // Properties clients may sort on, mapped to their columns.
+    public static final Map<String, String> SORTABLE_COLUMNS = Map.of(
+            "id", "film_id",
+            "title", "title",
+            "releaseYear", "release_year",
+            "length", "length",
+            "rentalRate", "rental_rate",
+            "rating", "rating");
+
+    private FilmSpecifications() {
+    }
+
+    public static Specification<Film> matching(FilmSearchCriteria criteria, Byte languageId) {
+        return Specification.allOf(
+                hasRating(criteria.getRating()),
+                hasLanguageId(languageId),
+                releasedBetween(criteria.getYearFrom(), criteria.getYearTo()),
+                lengthBetween(criteria.getMinLength(), criteria.getMaxLength()),
+                rentalRateBetween(criteria.getMinRentalRate(), criteria.getMaxRentalRate()));
+    }
+
+    // Mirrors matching(): the columns compared with '=' and the ones compared with a range.
+    public static PredicateShape shapeOf(FilmSearchCriteria criteria, Byte languageId, Sort sort) {
+        List<String> equality = new ArrayList<>();
+        List<String> range = new ArrayList<>();
+        if (criteria.getRating() != null) {
+            equality.add("rating");
+        }
+        if (languageId != null) {
+            equality.add("language_id");
+        }
+        addBound("release_year", criteria.getYearFrom(), criteria.getYearTo(), equality, range);
+        addBound("length", criteria.getMinLength(), criteria.getMaxLength(), equality, range);
+        addBound("rental_rate", criteria.getMinRentalRate(), criteria.getMaxRentalRate(), equality, range);
+
+        List<String> order = sort.stream().map(o -> SORTABLE_COLUMNS.get(o.getProperty())).toList();
+        return new PredicateShape(TABLE, List.copyOf(equality), List.copyOf(range), order);
+    }
+
+    public static Specification<Film> hasRating(Rating rating) {
+        return rating == null ? null : (root, query, cb) -> cb.equal(root.get("rating"), rating);
+    }
+
+    // Compares the language_id foreign key column directly, no join to language.
+    public static Specification<Film> hasLanguageId(Byte languageId) {
+        return languageId == null ? null : (root, query, cb) -> cb.equal(root.get("language").get("id"), languageId);
+    }
+
+    // One equality per value, each bound through the converter (a Set handed to IN would be expanded into its
+    // elements). MySQL's range optimizer treats ORed equalities on one column like an IN list, so the index on
+    // special_features still applies. Empty sets are stored as NULL by SpecialFeatureSetConverter but as '' by MySQL
+    // when written outside this application, so the empty set matches both; the literal skips the converter.
+    public static Specification<Film> hasSpecialFeaturesIn(Collection<Set<SpecialFeature>> values) {
+        return (root, query, cb) -> {
+            Path<Set<SpecialFeature>> path = root.get("specialFeatures");
+            List<Predicate> matches = new ArrayList<>(values.size());
+            for (Set<SpecialFeature> value : values) {
+                if (value.isEmpty()) {
+                    matches.add(cb.isNull(path));
+                    matches.add(cb.equal(path, cb.literal("")));
+                } else {
+                    matches.add(cb.equal(path, value));
+                }
+            }
+            return cb.or(matches.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<Film> releasedBetween(Integer from, Integer to) {
+        return between("releaseYear", from, to);
+    }
+
+    public static Specification<Film> lengthBetween(Integer min, Integer max) {
+        return between("length", min, max);
+    }
+
+    public static Specification<Film> rentalRateBetween(BigDecimal min, BigDecimal max) {
+        return between("rentalRate", min, max);
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Film> between(String attribute, T min, T max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        if (min != null && max != null && min.compareTo(max) == 0) {
+            return (root, query, cb) -> cb.equal(root.get(attribute), min);
+        }
+        if (max == null) {
+            return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(attribute), min);
+        }
+        if (min == null) {
+            return (root, query, cb) -> cb.lessThanOrEqualTo(root.get(attribute), max);
+        }
+        return (root, query, cb) -> cb.between(root.get(attribute), min, max);
+    }
+
+    private static <T extends Comparable<? super T>> void addBound(String column, T min, T max,
+                                                                    List<String> equality, List<String> range) {
+        if (min == null && max == null) {
+            return;
+        }
+        if (min != null && max != null && min.compareTo(max) == 0) {
+            equality.add(column);
+        } else {
+            range.add(column);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.core.hw1.repository.specification;
+
+import java.util.List;
+
+// Which columns a generated query filters on and how; what an index needs to serve it, independent of the values.
+public record PredicateShape(String table, List<String> equalityColumns, List<String> rangeColumns, List<String> orderColumns) {
+}
@@ -0,0 +1,49 @@
+package com.core.hw1.service;
+
+import com.core.hw1.event.ActorChangedEvent;
+import com.core.hw1.event.ActorsDeletedEvent;
+import com.core.hw1.exception.ResourceNotFoundException;
+import com.core.hw1.model.Actor;
+import com.core.hw1.repository.ActorRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+// Read-through cache of detached actors. Size and TTL come from spring.cache.caffeine.spec.
+@Service
+public class ActorCache {
+
+    public static final String CACHE_NAME = "actors";
+
+    private final ActorRepository actorRepository;
+    private final CacheManager cacheManager;
+
+    public ActorCache(ActorRepository actorRepository, CacheManager cacheManager) {
+        this.actorRepository = actorRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    // Callers share the cached instance and must not modify it.
+    @Cacheable(cacheNames = CACHE_NAME, key = "#id")
+    public Actor getById(Short id) {
+        return actorRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Actor not found with id: " + id));
+    }
+
+    @EventListener
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#event.actorId()")
+    public void onActorChanged(ActorChangedEvent event) {
+        // Eviction is handled by @CacheEvict.
+    }
+
+    @EventListener
+    public void onActorsDeleted(ActorsDeletedEvent event) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            event.actorIds().forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.core.hw1.service;
+
+import com.core.hw1.event.ActorChangedEvent;
+import com.core.hw1.event.ActorsDeletedEvent;
+import com.core.hw1.event.ChangeType;
+import com.core.hw1.model.Actor;
+import com.core.hw1.repository.ActorRepository;
+import com.core.hw1.viewmodel.ActorSuggestionVm;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Sorted array of lower-cased names for actor autocomplete. A prefix lookup is a binary search plus a short scan
+// and never touches the database. Writes rebuild the arrays copy-on-write, which is cheap at actor-table sizes.
+@Service
+public class ActorNameIndex {
+
+    private final ActorRepository actorRepository;
+    private final ReplayingRebuild<Short, ActorSuggestionVm> rebuilds =
+            new ReplayingRebuild<>("actor name index", new ReentrantLock());
+
+    private volatile Snapshot snapshot = Snapshot.of(Map.of());
+    private volatile boolean ready;
+
+    public ActorNameIndex(ActorRepository actorRepository) {
+        this.actorRepository = actorRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        scheduledRebuild();
+    }
+
+    // Reconciles with writes that did not go through this instance.
+    @Scheduled(fixedDelayString = "${app.actors.autocomplete.rebuild-interval:PT30M}",
+            initialDelayString = "${app.actors.autocomplete.rebuild-interval:PT30M}")
+    public void scheduledRebuild() {
+        rebuilds.runLogged(this::rebuild);
+    }
+
+    public void rebuild() {
+        rebuilds.run(() -> {
+            Map<Short, ActorSuggestionVm> actors = new HashMap<>();
+            for (Actor actor : actorRepository.findAll()) {
+                actors.put(actor.getActorId(), toSuggestion(actor));
+            }
+            return actors;
+        }, (actors, changes) -> {
+            apply(actors, changes);
+            snapshot = Snapshot.of(actors);
+            ready = true;
+            return actors.size();
+        });
+    }
+
+    @EventListener
+    public void onActorChanged(ActorChangedEvent event) {
+        if (event.type() != ChangeType.DELETED && event.actor() == null) {
+            // No new state attached; the next rebuild picks the change up.
+            return;
+        }
+        ActorSuggestionVm actor = event.type() == ChangeType.DELETED ? null : toSuggestion(event.actor());
+        rebuilds.apply(Collections.singletonMap(event.actorId(), actor), this::applyToSnapshot);
+    }
+
+    @EventListener
+    public void onActorsDeleted(ActorsDeletedEvent event) {
+        Map<Short, ActorSuggestionVm> deletes = new HashMap<>();
+        event.actorIds().forEach(id -> deletes.put(id, null));
+        rebuilds.apply(deletes, this::applyToSnapshot);
+    }
+
+    private void applyToSnapshot(Map<Short, ActorSuggestionVm> changes) {
+        Map<Short, ActorSuggestionVm> actors = new HashMap<>(snapshot.actors());
+        apply(actors, changes);
+        snapshot = Snapshot.of(actors);
+    }
+
+    // A null value removes the actor.
+    private static void apply(Map<Short, ActorSuggestionVm> actors, Map<Short, ActorSuggestionVm> changes) {
+        changes.forEach((id, actor) -> {
+            if (actor == null) {
+                actors.remove(id);
+            } else {
+                actors.put(id, actor);
+            }
+        });
+    }
+
+    // Matches the start of the first name, the last name or "first last", ordered by the matching name.
+    public List<ActorSuggestionVm> suggest(String prefix, int limit) {
+        Snapshot current = snapshot;
+        String key = normalize(prefix);
+        int i = Arrays.binarySearch(current.keys(), key);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        Set<Short> ids = new LinkedHashSet<>();
+        for (; i < current.keys().length && ids.size() < limit && current.keys()[i].startsWith(key); i++) {
+            ids.add(current.ids()[i]);
+        }
+        List<ActorSuggestionVm> suggestions = new ArrayList<>(ids.size());
+        for (Short id : ids) {
+            suggestions.add(current.actors().get(id));
+        }
+        return suggestions;
+    }
+
+    private static ActorSuggestionVm toSuggestion(Actor actor) {
+        return new ActorSuggestionVm(actor.getActorId(), actor.getFirstName(), actor.getLastName());
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Parallel arrays sorted by key; each actor appears under its last name and its full name.
+    private record Snapshot(Map<Short, ActorSuggestionVm> actors, String[] keys, short[] ids) {
+
+        static Snapshot of(Map<Short, ActorSuggestionVm> actors) {
+            record Entry(String key, short id) {
+            }
+            List<Entry> entries = new ArrayList<>(actors.size() * 2);
+            for (ActorSuggestionVm actor : actors.values()) {
+                entries.add(new Entry(normalize(actor.getLastName()), actor.getActorId()));
+                entries.add(new Entry(normalize(actor.getFirstName() + " " + actor.getLastName()), actor.getActorId()));
+            }
+            entries.sort(Comparator.comparing(Entry::key).thenComparingInt(Entry::id));
+            String[] keys = new String[entries.size()];
+            short[] ids = new short[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                keys[i] = entries.get(i).key();
+                ids[i] = entries.get(i).id();
+            }
+            return new Snapshot(Map.copyOf(actors), keys, ids);
+        }
+    }
+}
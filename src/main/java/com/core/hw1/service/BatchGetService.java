@@ -0,0 +1,64 @@
+package com.core.hw1.service;
+
+import com.core.hw1.exception.BadRequestException;
+import com.core.hw1.viewmodel.BatchGetResultVm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Resolves a list of IDs with one IN query per chunk instead of one lookup per ID.
+@Service
+public class BatchGetService {
+
+    private final int chunkSize;
+    private final int maxIds;
+
+    public BatchGetService(@Value("${app.batch-get.chunk-size:500}") int chunkSize,
+                           @Value("${app.batch-get.max-ids:1000}") int maxIds) {
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+    }
+
+    public <T> BatchGetResultVm<T> getInOrder(List<Short> ids, Function<List<Short>, List<T>> loader, Function<T, Short> idOf) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one ID is required");
+        }
+        if (ids.size() > maxIds) {
+            throw new BadRequestException("At most " + maxIds + " IDs can be requested at once");
+        }
+        if (ids.contains(null)) {
+            throw new BadRequestException("IDs must not be empty");
+        }
+
+        // Each ID is queried once even if it is requested several times.
+        List<Short> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Short, T> found = new HashMap<>(distinctIds.size() * 2);
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Short> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            for (T item : loader.apply(chunk)) {
+                found.put(idOf.apply(item), item);
+            }
+        }
+
+        List<T> items = new ArrayList<>(ids.size());
+        for (Short id : ids) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        List<Short> missingIds = distinctIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+        return BatchGetResultVm.<T>builder()
+                .items(items)
+                .missingIds(missingIds)
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.core.hw1.service;
+
+import com.core.hw1.event.ActorsDeletedEvent;
+import com.core.hw1.event.FilmsDeletedEvent;
+import com.core.hw1.exception.BadRequestException;
+import com.core.hw1.model.Film;
+import com.core.hw1.repository.ActorRepository;
+import com.core.hw1.repository.FilmRepository;
+import com.core.hw1.repository.specification.FilmSpecifications;
+import com.core.hw1.viewmodel.BulkDeleteResultVm;
+import com.core.hw1.viewmodel.FilmSearchCriteria;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Set-based deletes: one DELETE ... WHERE id IN (...) per chunk, each in its own short transaction.
+// A failing chunk (e.g. a row still referenced elsewhere) stops the run; earlier chunks stay deleted.
+@Slf4j
+@Service
+public class BulkDeleteService {
+
+    private final FilmRepository filmRepository;
+    private final ActorRepository actorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxIds;
+
+    public BulkDeleteService(FilmRepository filmRepository, ActorRepository actorRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${app.bulk-delete.chunk-size:500}") int chunkSize,
+                             @Value("${app.bulk-delete.max-ids:10000}") int maxIds) {
+        this.filmRepository = filmRepository;
+        this.actorRepository = actorRepository;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+    }
+
+    public BulkDeleteResultVm deleteFilms(List<Short> ids) {
+        return deleteByIds(distinct(ids), filmRepository::deleteFilmsByIdIn, FilmsDeletedEvent::new);
+    }
+
+    public BulkDeleteResultVm deleteActors(List<Short> ids) {
+        return deleteByIds(distinct(ids), actorRepository::deleteActorsByIdIn, ActorsDeletedEvent::new);
+    }
+
+    // Walks the matching IDs in ID order so every chunk makes progress, even if a replica still shows deleted rows.
+    public BulkDeleteResultVm deleteFilms(FilmSearchCriteria criteria, Byte languageId) {
+        if (isEmpty(criteria)) {
+            throw new BadRequestException("At least one filter must be set");
+        }
+        Specification<Film> specification = FilmSpecifications.matching(criteria, languageId);
+        long start = System.nanoTime();
+        int deleted = 0;
+        int chunks = 0;
+        Short afterId = 0;
+        while (true) {
+            List<Short> chunk = filmRepository.findIdsAfter(specification, afterId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            deleted += filmRepository.deleteFilmsByIdIn(chunk);
+            chunks++;
+            eventPublisher.publishEvent(new FilmsDeletedEvent(List.copyOf(chunk)));
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            afterId = chunk.getLast();
+        }
+        return result(null, deleted, chunks, start);
+    }
+
+    private BulkDeleteResultVm deleteByIds(List<Short> ids, Function<List<Short>, Integer> delete,
+                                           Function<List<Short>, Object> event) {
+        long start = System.nanoTime();
+        int deleted = 0;
+        int chunks = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Short> chunk = List.copyOf(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+            deleted += delete.apply(chunk);
+            chunks++;
+            eventPublisher.publishEvent(event.apply(chunk));
+        }
+        return result(ids.size(), deleted, chunks, start);
+    }
+
+    private List<Short> distinct(List<Short> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one ID is required");
+        }
+        if (ids.size() > maxIds) {
+            throw new BadRequestException("At most " + maxIds + " IDs can be deleted at once");
+        }
+        if (ids.contains(null)) {
+            throw new BadRequestException("IDs must not be empty");
+        }
+        return new ArrayList<>(new LinkedHashSet<>(ids));
+    }
+
+    private static boolean isEmpty(FilmSearchCriteria criteria) {
+        return criteria == null || Stream.of(criteria.getRating(), criteria.getYearFrom(), criteria.getYearTo(),
+                        criteria.getMinLength(), criteria.getMaxLength(), criteria.getLanguage(),
+                        criteria.getMinRentalRate(), criteria.getMaxRentalRate())
+                .allMatch(value -> value == null);
+    }
+
+    private static BulkDeleteResultVm result(Integer requested, int deleted, int chunks, long start) {
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Bulk delete removed {} rows in {} chunks in {} ms", deleted, chunks, elapsedMs);
+        return BulkDeleteResultVm.builder()
+                .requested(requested)
+                .deleted(deleted)
+                .chunks(chunks)
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+}
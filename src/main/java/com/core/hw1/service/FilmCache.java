@@ -0,0 +1,49 @@
+package com.core.hw1.service;
+
+import com.core.hw1.event.FilmChangedEvent;
+import com.core.hw1.event.FilmsDeletedEvent;
+import com.core.hw1.exception.ResourceNotFoundException;
+import com.core.hw1.repository.FilmRepository;
+import com.core.hw1.viewmodel.FilmRequestVm;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+// Read-through cache of mapped films. Size and TTL come from spring.cache.caffeine.spec.
+@Service
+public class FilmCache {
+
+    public static final String CACHE_NAME = "films";
+
+    private final FilmRepository filmRepository;
+    private final CacheManager cacheManager;
+
+    public FilmCache(FilmRepository filmRepository, CacheManager cacheManager) {
+        this.filmRepository = filmRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    // Callers share the cached instance and must not modify it.
+    @Cacheable(cacheNames = CACHE_NAME, key = "#id")
+    public FilmRequestVm getById(Short id) {
+        return filmRepository.findViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Film not found with id: " + id));
+    }
+
+    @EventListener
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#event.filmId()")
+    public void onFilmChanged(FilmChangedEvent event) {
+        // Eviction is handled by @CacheEvict.
+    }
+
+    @EventListener
+    public void onFilmsDeleted(FilmsDeletedEvent event) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            event.filmIds().forEach(cache::evict);
+        }
+    }
+}
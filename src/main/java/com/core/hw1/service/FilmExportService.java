@@ -0,0 +1,134 @@
+package com.core.hw1.service;
+
+import com.core.hw1.enumeration.ExportFormat;
+import com.core.hw1.enumeration.SpecialFeature;
+import com.core.hw1.model.converter.SpecialFeatureSetConverter;
+import com.core.hw1.repository.FilmRepository;
+import com.core.hw1.viewmodel.FilmRequestVm;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class FilmExportService {
+
+    // Rows between flushes of the writer to the client.
+    private static final int BATCH_SIZE = 500;
+
+    private static final String CSV_HEADER = "id,title,description,release_year,language_id,original_language_id,"
+            + "rental_duration,rental_rate,length,replacement_cost,rating,special_features";
+
+    private final FilmRepository filmRepository;
+    private final ObjectMapper objectMapper;
+
+    public FilmExportService(FilmRepository filmRepository, ObjectMapper objectMapper) {
+        this.filmRepository = filmRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // The transaction keeps the forward-only cursor open while rows are written to the client.
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows;
+        try (Stream<FilmRequestVm> films = filmRepository.streamAllViews()) {
+            rows = switch (format) {
+                case NDJSON -> writeNdjson(films.iterator(), writer);
+                case CSV -> writeCsv(films.iterator(), writer);
+            };
+        }
+        writer.flush();
+        log.info("Exported {} films as {}", rows, format.getValue());
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<FilmRequestVm> films, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        long rows = 0;
+        while (films.hasNext()) {
+            objectMapper.writeValue(generator, films.next());
+            generator.writeRaw('\n');
+            if (++rows % BATCH_SIZE == 0) {
+                generator.flush();
+            }
+        }
+        generator.flush();
+        return rows;
+    }
+
+    private long writeCsv(Iterator<FilmRequestVm> films, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long rows = 0;
+        while (films.hasNext()) {
+            writeCsvRow(films.next(), writer);
+            if (++rows % BATCH_SIZE == 0) {
+                writer.flush();
+            }
+        }
+        return rows;
+    }
+
+    private void writeCsvRow(FilmRequestVm film, Writer writer) throws IOException {
+        writer.write(String.valueOf(film.getId()));
+        writer.write(',');
+        writeCsvValue(film.getTitle(), writer);
+        writer.write(',');
+        writeCsvValue(film.getDescription(), writer);
+        writer.write(',');
+        writeCsvValue(film.getReleaseYear(), writer);
+        writer.write(',');
+        writeCsvValue(film.getLanguageId(), writer);
+        writer.write(',');
+        writeCsvValue(film.getOriginalLanguageId(), writer);
+        writer.write(',');
+        writeCsvValue(film.getRentalDuration(), writer);
+        writer.write(',');
+        writeCsvValue(film.getRentalRate(), writer);
+        writer.write(',');
+        writeCsvValue(film.getLength(), writer);
+        writer.write(',');
+        writeCsvValue(film.getReplacementCost(), writer);
+        writer.write(',');
+        writeCsvValue(film.getRating() != null ? film.getRating().getValue() : null, writer);
+        writer.write(',');
+        writeCsvValue(joinFeatures(film.getSpecialFeatures()), writer);
+        writer.write('\n');
+    }
+
+    private String joinFeatures(Set<SpecialFeature> features) {
+        if (features == null) {
+            return null;
+        }
+        return SpecialFeatureSetConverter.toColumnValue(SpecialFeatureSetConverter.toMask(features));
+    }
+
+    private void writeCsvValue(Object value, Writer writer) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,297 @@
+package com.core.hw1.service;
+
+import com.core.hw1.event.FilmsImportedEvent;
+import com.core.hw1.model.Language;
+import com.core.hw1.model.converter.RatingConverter;
+import com.core.hw1.model.converter.SpecialFeatureSetConverter;
+import com.core.hw1.viewmodel.BulkImportErrorVm;
+import com.core.hw1.viewmodel.BulkImportResultVm;
+import com.core.hw1.viewmodel.FilmRequestVm;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class FilmImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO film (title, description, release_year, language_id, "
+            + "original_language_id, rental_duration, rental_rate, length, replacement_cost, rating, "
+            + "special_features, last_update) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String[] KEY_COLUMNS = {"film_id"};
+    // Holds the slot of an NDJSON line that could not be parsed, so the row indexes reported back match the input lines.
+    private static final FilmRequestVm MALFORMED = new FilmRequestVm();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LanguageCache languageCache;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectReader filmReader;
+    private final int chunkSize;
+
+    private final RatingConverter ratingConverter = new RatingConverter();
+    private final SpecialFeatureSetConverter specialFeatureSetConverter = new SpecialFeatureSetConverter();
+
+    public FilmImportService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             LanguageCache languageCache, Validator validator, ObjectMapper objectMapper,
+                             ApplicationEventPublisher eventPublisher, @Value("${app.films.import.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.languageCache = languageCache;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.filmReader = objectMapper.readerFor(FilmRequestVm.class);
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkImportResultVm importFilms(List<FilmRequestVm> films) {
+        ImportRun run = new ImportRun();
+        for (int from = 0; from < films.size(); from += chunkSize) {
+            List<FilmRequestVm> chunk = films.subList(from, Math.min(from + chunkSize, films.size()));
+            importChunk(chunk, from, run);
+        }
+        return run.finish(films.size());
+    }
+
+    // Reads one film per line and imports every full chunk as it goes, so the body is never held in memory.
+    public BulkImportResultVm importNdjson(BufferedReader reader) throws IOException {
+        ImportRun run = new ImportRun();
+        List<FilmRequestVm> chunk = new ArrayList<>(chunkSize);
+        int chunkStart = 0;
+        int index = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                chunk.add(filmReader.readValue(line));
+            } catch (JsonProcessingException ex) {
+                chunk.add(MALFORMED);
+                run.reject(index, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+            index++;
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, chunkStart, run);
+                chunk.clear();
+                chunkStart = index;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, chunkStart, run);
+        }
+        return run.finish(index);
+    }
+
+    private void importChunk(List<FilmRequestVm> chunk, int offset, ImportRun run) {
+        Set<Byte> knownLanguageIds = resolveLanguageIds(chunk);
+
+        List<Integer> indexes = new ArrayList<>(chunk.size());
+        List<FilmRequestVm> accepted = new ArrayList<>(chunk.size());
+        List<Object[]> rows = new ArrayList<>(chunk.size());
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < chunk.size(); i++) {
+            FilmRequestVm film = chunk.get(i);
+            if (film == MALFORMED) {
+                // Already rejected while parsing.
+                continue;
+            }
+            if (film == null) {
+                run.reject(offset + i, "Film must not be null");
+                continue;
+            }
+            String error = validate(film, knownLanguageIds);
+            if (error != null) {
+                run.reject(offset + i, error);
+                continue;
+            }
+            indexes.add(offset + i);
+            accepted.add(film);
+            rows.add(toRow(film, Timestamp.from(now)));
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<FilmRequestVm> imported = new ArrayList<>(rows.size());
+        try {
+            List<Short> ids = transactionTemplate.execute(status -> insertBatch(rows));
+            for (int i = 0; i < accepted.size(); i++) {
+                imported.add(inserted(accepted.get(i), ids.get(i), now));
+            }
+        } catch (DataAccessException ex) {
+            // The whole chunk was rolled back; retry row by row to find out which rows are bad.
+            log.warn("Batch insert of {} films failed, retrying rows individually: {}", rows.size(), ex.getMessage());
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = rows.get(i);
+                try {
+                    Short id = transactionTemplate.execute(status -> insertRow(row));
+                    imported.add(inserted(accepted.get(i), id, now));
+                } catch (DataAccessException rowEx) {
+                    run.reject(indexes.get(i), rowEx.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        run.imported += imported.size();
+        if (!imported.isEmpty()) {
+            eventPublisher.publishEvent(new FilmsImportedEvent(imported));
+        }
+    }
+
+    private List<Short> insertBatch(List<Object[]> rows) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(this::prepareInsert, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                new ArgumentPreparedStatementSetter(rows.get(i)).setValues(ps);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        }, keys);
+        return keys.getKeyList().stream().map(FilmImportService::filmIdOf).toList();
+    }
+
+    private Short insertRow(Object[] row) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = prepareInsert(connection);
+            new ArgumentPreparedStatementSetter(row).setValues(ps);
+            return ps;
+        }, keys);
+        return filmIdOf(keys.getKeys());
+    }
+
+    private PreparedStatement prepareInsert(Connection connection) throws SQLException {
+        return connection.prepareStatement(INSERT_SQL, KEY_COLUMNS);
+    }
+
+    // The key column is named differently per driver (film_id, GENERATED_KEY), but it is the only one returned.
+    private static Short filmIdOf(Map<String, Object> keys) {
+        return ((Number) keys.values().iterator().next()).shortValue();
+    }
+
+    // The imported request objects are not used afterwards, so they carry the new state in the event.
+    private static FilmRequestVm inserted(FilmRequestVm film, Short id, Instant lastUpdate) {
+        film.setId(id);
+        film.setLastUpdate(lastUpdate);
+        return film;
+    }
+
+    // Resolved once per chunk from the language cache instead of one or two findById calls per film.
+    private Set<Byte> resolveLanguageIds(List<FilmRequestVm> chunk) {
+        Set<Byte> requested = new HashSet<>();
+        for (FilmRequestVm film : chunk) {
+            if (film == null) {
+                continue;
+            }
+            if (film.getLanguageId() != null) {
+                requested.add(film.getLanguageId());
+            }
+            if (film.getOriginalLanguageId() != null) {
+                requested.add(film.getOriginalLanguageId());
+            }
+        }
+        if (requested.isEmpty()) {
+            return Set.of();
+        }
+        return requested.stream()
+                .map(languageCache::findById)
+                .flatMap(Optional::stream)
+                .map(Language::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private String validate(FilmRequestVm film, Set<Byte> knownLanguageIds) {
+        Set<ConstraintViolation<FilmRequestVm>> violations = validator.validate(film);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!knownLanguageIds.contains(film.getLanguageId())) {
+            return "Language not found with id: " + film.getLanguageId();
+        }
+        if (film.getOriginalLanguageId() != null && !knownLanguageIds.contains(film.getOriginalLanguageId())) {
+            return "Original language not found with id: " + film.getOriginalLanguageId();
+        }
+        return null;
+    }
+
+    private Object[] toRow(FilmRequestVm film, Timestamp lastUpdate) {
+        return new Object[]{
+                film.getTitle(),
+                film.getDescription(),
+                film.getReleaseYear(),
+                film.getLanguageId(),
+                film.getOriginalLanguageId(),
+                film.getRentalDuration(),
+                film.getRentalRate(),
+                film.getLength(),
+                film.getReplacementCost(),
+                ratingConverter.convertToDatabaseColumn(film.getRating()),
+                specialFeatureSetConverter.convertToDatabaseColumn(film.getSpecialFeatures()),
+                lastUpdate
+        };
+    }
+
+    private static class ImportRun {
+        private final long startNanos = System.nanoTime();
+        private final List<BulkImportErrorVm> errors = new ArrayList<>();
+        private int imported;
+
+        void reject(int index, String message) {
+            errors.add(new BulkImportErrorVm(index, message));
+        }
+
+        BulkImportResultVm finish(int received) {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            errors.sort(Comparator.comparingInt(BulkImportErrorVm::getIndex));
+            double rowsPerSecond = elapsedNanos > 0 ? imported * 1_000_000_000d / elapsedNanos : 0;
+            log.info("Bulk import finished: received={}, imported={}, failed={}, timeTakenMs={}, rowsPerSecond={}",
+                    received, imported, errors.size(), elapsedNanos / 1_000_000, Math.round(rowsPerSecond));
+            return BulkImportResultVm.builder()
+                    .received(received)
+                    .imported(imported)
+                    .failed(errors.size())
+                    .errors(errors)
+                    .elapsedMs(elapsedNanos / 1_000_000)
+                    .rowsPerSecond(rowsPerSecond)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.core.hw1.service;
+
+import com.core.hw1.event.ChangeType;
+import com.core.hw1.event.FilmChangedEvent;
+import com.core.hw1.event.FilmsDeletedEvent;
+import com.core.hw1.event.FilmsImportedEvent;
+import com.core.hw1.repository.FilmRepository;
+import com.core.hw1.repository.projection.FilmTextView;
+import com.core.hw1.repository.projection.TableVersion;
+import com.core.hw1.viewmodel.FilmRequestVm;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory trigram index over film titles and descriptions, replacing LIKE '%keyword%' scans.
+@Slf4j
+@Service
+public class FilmSearchIndex {
+
+    // The film properties the index is built from.
+    public static final Set<String> PROPERTIES = Set.of("title", "description");
+
+    private static final int GRAM = 3;
+    private static final int SNAPSHOT_MAGIC = 0x46534958;
+    private static final int SNAPSHOT_FORMAT = 1;
+
+    private final FilmRepository filmRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path snapshotPath;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReplayingRebuild<Short, Doc> rebuilds = new ReplayingRebuild<>("film search index", lock.writeLock());
+    private Index index = new Index();
+    private volatile boolean ready;
+    private volatile boolean dirty;
+
+    public FilmSearchIndex(FilmRepository filmRepository, TransactionTemplate transactionTemplate,
+                           @Value("${app.films.search.snapshot-path:${java.io.tmpdir}/hw1/film-search.idx}") Path snapshotPath) {
+        this.filmRepository = filmRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotPath = snapshotPath;
+    }
+
+    public record SearchResult(List<Short> ids, int total) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuilds.runLogged(() -> {
+            if (!loadSnapshot()) {
+                rebuild();
+            }
+        });
+    }
+
+    // Reconciles with writes that did not go through this instance.
+    @Scheduled(fixedDelayString = "${app.films.search.rebuild-interval:PT30M}",
+            initialDelayString = "${app.films.search.rebuild-interval:PT30M}")
+    public void scheduledRebuild() {
+        rebuilds.runLogged(this::rebuild);
+    }
+
+    public void rebuild() {
+        boolean rebuilt = rebuilds.run(() -> {
+            Index fresh = new Index();
+            // Read the version first: a write racing with the scan makes the snapshot look stale, never fresh.
+            fresh.version = filmRepository.findTableVersion();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<FilmTextView> films = filmRepository.streamAllText()) {
+                    films.forEach(film -> fresh.put(new Doc(film.getId(), film.getTitle(), film.getDescription())));
+                }
+            });
+            return fresh;
+        }, (fresh, changes) -> {
+            apply(fresh, changes);
+            index = fresh;
+            ready = true;
+            dirty = true;
+            return fresh.docs.size();
+        });
+        if (rebuilt) {
+            saveSnapshot();
+        }
+    }
+
+    @EventListener
+    public void onFilmChanged(FilmChangedEvent event) {
+        Doc doc = null;
+        if (event.type() != ChangeType.DELETED) {
+            if (!event.touches(PROPERTIES)) {
+                return;
+            }
+            if (event.film() == null) {
+                // No new state attached; the next rebuild picks the change up.
+                return;
+            }
+            doc = new Doc(event.filmId(), event.film().getTitle(), event.film().getDescription());
+        }
+        rebuilds.apply(Collections.singletonMap(event.filmId(), doc), this::applyToIndex);
+    }
+
+    @EventListener
+    public void onFilmsDeleted(FilmsDeletedEvent event) {
+        Map<Short, Doc> deletes = new HashMap<>();
+        event.filmIds().forEach(id -> deletes.put(id, null));
+        rebuilds.apply(deletes, this::applyToIndex);
+    }
+
+    @EventListener
+    public void onFilmsImported(FilmsImportedEvent event) {
+        Map<Short, Doc> inserts = new HashMap<>();
+        for (FilmRequestVm film : event.films()) {
+            inserts.put(film.getId(), new Doc(film.getId(), film.getTitle(), film.getDescription()));
+        }
+        rebuilds.apply(inserts, this::applyToIndex);
+    }
+
+    private void applyToIndex(Map<Short, Doc> changes) {
+        apply(index, changes);
+        dirty = true;
+    }
+
+    // A null doc removes the film.
+    private static void apply(Index target, Map<Short, Doc> changes) {
+        changes.forEach((id, doc) -> {
+            if (doc == null) {
+                target.remove(id);
+            } else {
+                target.put(doc);
+            }
+        });
+    }
+
+    // Ranked, paged substring search. Matches in the title always rank above matches in the description.
+    public SearchResult search(String query, boolean includeDescription, int page, int size) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Collection<Short> candidates = needle.length() < GRAM
+                    ? index.docs.keySet()
+                    : index.candidates(needle, includeDescription);
+            for (Short id : candidates) {
+                Doc doc = index.docs.get(id);
+                int score = score(doc, needle, includeDescription);
+                if (score > 0) {
+                    hits.add(new Hit(doc, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingInt(Hit::score).reversed()
+                .thenComparingInt(hit -> hit.doc().title().length())
+                .thenComparing(hit -> hit.doc().id()));
+        int from = (int) Math.min((long) page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        List<Short> ids = hits.subList(from, to).stream().map(hit -> hit.doc().id()).toList();
+        return new SearchResult(ids, hits.size());
+    }
+
+    // A plain substring check also filters out trigram false positives.
+    private static int score(Doc doc, String needle, boolean includeDescription) {
+        int position = doc.title().indexOf(needle);
+        if (position >= 0) {
+            int score = 1000 - Math.min(position, 500);
+            if (doc.title().length() == needle.length()) {
+                score += 2000;
+            } else if (position == 0) {
+                score += 500;
+            }
+            return score;
+        }
+        if (includeDescription && doc.description() != null) {
+            position = doc.description().indexOf(needle);
+            if (position >= 0) {
+                return 100 - Math.min(position, 99);
+            }
+        }
+        return 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.films.search.snapshot-interval:PT5M}",
+            initialDelayString = "${app.films.search.snapshot-interval:PT5M}")
+    public void saveSnapshotIfDirty() {
+        if (dirty) {
+            saveSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void saveSnapshotOnShutdown() {
+        saveSnapshotIfDirty();
+    }
+
+    private void saveSnapshot() {
+        List<Doc> docs;
+        TableVersion version;
+        lock.readLock().lock();
+        try {
+            if (!ready || index.version == null) {
+                return;
+            }
+            docs = new ArrayList<>(index.docs.values());
+            version = index.version;
+            dirty = false;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        try {
+            Files.createDirectories(snapshotPath.toAbsolutePath().getParent());
+            Path tmp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_FORMAT);
+                out.writeLong(version.rowCount() != null ? version.rowCount() : 0);
+                out.writeLong(version.lastUpdate() != null ? version.lastUpdate().toEpochMilli() : Long.MIN_VALUE);
+                out.writeInt(docs.size());
+                for (Doc doc : docs) {
+                    out.writeShort(doc.id());
+                    writeString(out, doc.title());
+                    writeString(out, doc.description());
+                }
+            }
+            Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved film search index snapshot with {} films to {}", docs.size(), snapshotPath);
+        } catch (IOException ex) {
+            dirty = true;
+            log.warn("Could not save the film search index snapshot to {}: {}", snapshotPath, ex.getMessage());
+        }
+    }
+
+    // Uses the snapshot only when the film table has not changed since it was written.
+    private boolean loadSnapshot() {
+        if (!Files.isReadable(snapshotPath)) {
+            return false;
+        }
+        long start = System.nanoTime();
+        Index loaded = new Index();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_FORMAT) {
+                log.info("Ignoring film search index snapshot {} with an unknown format", snapshotPath);
+                return false;
+            }
+            long rowCount = in.readLong();
+            long lastUpdateMillis = in.readLong();
+            TableVersion current = filmRepository.findTableVersion();
+            long currentMillis = current.lastUpdate() != null ? current.lastUpdate().toEpochMilli() : Long.MIN_VALUE;
+            if (!Objects.equals(current.rowCount(), rowCount) || currentMillis != lastUpdateMillis) {
+                log.info("Film search index snapshot {} is stale, rebuilding from the database", snapshotPath);
+                return false;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                loaded.put(new Doc(in.readShort(), readString(in), readString(in)));
+            }
+            loaded.version = current;
+        } catch (IOException ex) {
+            log.warn("Could not read the film search index snapshot {}: {}", snapshotPath, ex.getMessage());
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            index = loaded;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded film search index with {} films from {} in {} ms", loaded.docs.size(), snapshotPath,
+                (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Doc(Short id, String title, String description) {
+        Doc {
+            title = normalize(title);
+            description = description == null ? null : normalize(description);
+        }
+    }
+
+    private record Hit(Doc doc, int score) {
+    }
+
+    private static final class Index {
+        private final Map<Short, Doc> docs = new LinkedHashMap<>();
+        private final Map<String, Set<Short>> titlePostings = new HashMap<>();
+        private final Map<String, Set<Short>> descriptionPostings = new HashMap<>();
+        private TableVersion version;
+
+        void put(Doc doc) {
+            remove(doc.id());
+            docs.put(doc.id(), doc);
+            addPostings(titlePostings, doc.title(), doc.id());
+            addPostings(descriptionPostings, doc.description(), doc.id());
+        }
+
+        void remove(Short id) {
+            Doc previous = docs.remove(id);
+            if (previous != null) {
+                removePostings(titlePostings, previous.title(), id);
+                removePostings(descriptionPostings, previous.description(), id);
+            }
+        }
+
+        Collection<Short> candidates(String needle, boolean includeDescription) {
+            Set<Short> result = intersect(titlePostings, needle);
+            if (includeDescription) {
+                Set<Short> inDescription = intersect(descriptionPostings, needle);
+                if (!inDescription.isEmpty()) {
+                    result = new HashSet<>(result);
+                    result.addAll(inDescription);
+                }
+            }
+            return result;
+        }
+
+        // Intersects the posting lists of every trigram in the needle, starting from the shortest.
+        private static Set<Short> intersect(Map<String, Set<Short>> postings, String needle) {
+            List<Set<Short>> lists = new ArrayList<>();
+            for (String gram : grams(needle)) {
+                Set<Short> list = postings.get(gram);
+                if (list == null) {
+                    return Set.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            Set<Short> result = new HashSet<>(lists.getFirst());
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.retainAll(lists.get(i));
+            }
+            return result;
+        }
+
+        private static void addPostings(Map<String, Set<Short>> postings, String text, Short id) {
+            for (String gram : grams(text)) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+            }
+        }
+
+        private static void removePostings(Map<String, Set<Short>> postings, String text, Short id) {
+            for (String gram : grams(text)) {
+                Set<Short> list = postings.get(gram);
+                if (list != null && list.remove(id) && list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        private static Set<String> grams(String text) {
+            if (text == null || text.length() < GRAM) {
+                return Set.of();
+            }
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                grams.add(text.substring(i, i + GRAM));
+            }
+            return grams;
+        }
+    }
+}
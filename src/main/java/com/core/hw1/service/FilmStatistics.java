@@ -0,0 +1,210 @@
+package com.core.hw1.service;
+
+import com.core.hw1.enumeration.Rating;
+import com.core.hw1.event.ChangeType;
+import com.core.hw1.event.FilmChangedEvent;
+import com.core.hw1.event.FilmsDeletedEvent;
+import com.core.hw1.event.FilmsImportedEvent;
+import com.core.hw1.model.Language;
+import com.core.hw1.repository.FilmRepository;
+import com.core.hw1.repository.projection.FilmStatsRow;
+import com.core.hw1.viewmodel.FilmStatsVm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Counts and averages over the film table, kept up to date from the film change events (including bulk imports) so
+// /stats never scans the table. Each film's last contribution is remembered so updates and deletes can be subtracted
+// exactly. A periodic reconciliation recomputes everything from the database and picks up writes made elsewhere.
+@Slf4j
+@Service
+public class FilmStatistics {
+
+    // The film properties the statistics are computed from, i.e. those of FilmStatsRow.
+    public static final Set<String> PROPERTIES = Set.of("rating", "releaseYear", "languageId", "length", "rentalRate");
+
+    private static final String UNKNOWN = "unknown";
+
+    private final FilmRepository filmRepository;
+    private final LanguageCache languageCache;
+
+    private final ReplayingRebuild<Short, FilmStatsRow> rebuilds =
+            new ReplayingRebuild<>("film statistics", new ReentrantLock());
+
+    // Guarded by the rebuilds lock.
+    private Aggregates aggregates = new Aggregates();
+    private Instant reconciledAt;
+
+    // Re-rendered after every change so a read is a single volatile load.
+    private volatile FilmStatsVm current;
+
+    public FilmStatistics(FilmRepository filmRepository, LanguageCache languageCache) {
+        this.filmRepository = filmRepository;
+        this.languageCache = languageCache;
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public FilmStatsVm get() {
+        return current;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        scheduledReconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${app.films.stats.reconcile-interval:PT10M}",
+            initialDelayString = "${app.films.stats.reconcile-interval:PT10M}")
+    public void scheduledReconcile() {
+        rebuilds.runLogged(this::reconcile);
+    }
+
+    public void reconcile() {
+        rebuilds.run(filmRepository::findAllStatsRows, (rows, changes) -> {
+            Aggregates fresh = new Aggregates();
+            rows.forEach(row -> fresh.put(row.id(), row));
+            changes.forEach(fresh::put);
+            if (current != null && fresh.total != aggregates.total) {
+                log.info("Film statistics drifted from the database: {} films counted, {} found", aggregates.total, fresh.total);
+            }
+            aggregates = fresh;
+            reconciledAt = Instant.now();
+            render();
+            return rows.size();
+        });
+    }
+
+    @EventListener
+    public void onFilmChanged(FilmChangedEvent event) {
+        FilmStatsRow row = null;
+        if (event.type() != ChangeType.DELETED) {
+            if (!event.touches(PROPERTIES)) {
+                return;
+            }
+            if (event.film() == null) {
+                // No new state attached; the next reconciliation picks the change up.
+                return;
+            }
+            row = FilmStatsRow.of(event.film());
+        }
+        apply(Collections.singletonMap(event.filmId(), row));
+    }
+
+    @EventListener
+    public void onFilmsDeleted(FilmsDeletedEvent event) {
+        Map<Short, FilmStatsRow> deletes = new HashMap<>();
+        event.filmIds().forEach(id -> deletes.put(id, null));
+        apply(deletes);
+    }
+
+    @EventListener
+    public void onFilmsImported(FilmsImportedEvent event) {
+        Map<Short, FilmStatsRow> inserts = new HashMap<>();
+        event.films().forEach(film -> inserts.put(film.getId(), FilmStatsRow.of(film)));
+        apply(inserts);
+    }
+
+    // A null row is a delete.
+    private void apply(Map<Short, FilmStatsRow> changes) {
+        rebuilds.apply(changes, live -> {
+            live.forEach(aggregates::put);
+            if (reconciledAt != null) {
+                render();
+            }
+        });
+    }
+
+    private void render() {
+        Aggregates a = aggregates;
+        current = FilmStatsVm.builder()
+                .total(a.total)
+                .byRating(sorted(a.byRating, Rating::getValue))
+                .byReleaseYear(sorted(a.byReleaseYear, String::valueOf))
+                .byLanguage(sorted(a.byLanguage, id -> languageCache.findById(id).map(Language::getName).orElse(String.valueOf(id))))
+                .averageLength(a.lengthCount == 0 ? null : (double) a.lengthSum / a.lengthCount)
+                .averageRentalRate(a.rentalRateCount == 0 ? null
+                        : a.rentalRateSum.divide(BigDecimal.valueOf(a.rentalRateCount), 2, RoundingMode.HALF_UP))
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    // Keys in natural order, missing values last.
+    private static <K extends Comparable<? super K>> Map<String, Long> sorted(Map<K, Long> counts, Function<K, String> label) {
+        List<K> keys = new ArrayList<>(counts.keySet());
+        keys.sort(Comparator.nullsLast(Comparator.naturalOrder()));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            result.put(key == null ? UNKNOWN : label.apply(key), counts.get(key));
+        }
+        return result;
+    }
+
+    private static final class Aggregates {
+
+        final Map<Short, FilmStatsRow> rows = new HashMap<>();
+        final Map<Rating, Long> byRating = new HashMap<>();
+        final Map<Integer, Long> byReleaseYear = new HashMap<>();
+        final Map<Byte, Long> byLanguage = new HashMap<>();
+        long total;
+        long lengthSum;
+        long lengthCount;
+        BigDecimal rentalRateSum = BigDecimal.ZERO;
+        long rentalRateCount;
+
+        // Replaces the film's previous contribution; null removes it.
+        void put(Short id, FilmStatsRow row) {
+            FilmStatsRow previous = row == null ? rows.remove(id) : rows.put(id, row);
+            if (previous != null) {
+                add(previous, -1);
+            }
+            if (row != null) {
+                add(row, 1);
+            }
+        }
+
+        private void add(FilmStatsRow row, int sign) {
+            total += sign;
+            count(byRating, row.rating(), sign);
+            count(byReleaseYear, row.releaseYear(), sign);
+            count(byLanguage, row.languageId(), sign);
+            if (row.length() != null) {
+                lengthSum += (long) sign * row.length();
+                lengthCount += sign;
+            }
+            if (row.rentalRate() != null) {
+                rentalRateSum = sign > 0 ? rentalRateSum.add(row.rentalRate()) : rentalRateSum.subtract(row.rentalRate());
+                rentalRateCount += sign;
+            }
+        }
+
+        private static <K> void count(Map<K, Long> counts, K key, int sign) {
+            long value = counts.getOrDefault(key, 0L) + sign;
+            if (value == 0) {
+                counts.remove(key);
+            } else {
+                counts.put(key, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.core.hw1.service;
+
+import com.core.hw1.repository.specification.PredicateShape;
+import com.core.hw1.viewmodel.IndexAdviceVm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts the predicate shapes produced by dynamic queries and derives the composite index each one needs:
+// equality columns first, then a single range column (a B-tree can only range-scan on one), or else the sort columns.
+@Slf4j
+@Service
+public class IndexAdvisor {
+
+    // InnoDB appends the primary key to every secondary index, so it never needs to be listed.
+    private static final String PRIMARY_KEY_COLUMN = "film_id";
+
+    private final DataSource dataSource;
+
+    private final Map<PredicateShape, LongAdder> shapes = new ConcurrentHashMap<>();
+
+    public IndexAdvisor(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void record(PredicateShape shape) {
+        shapes.computeIfAbsent(shape, key -> new LongAdder()).increment();
+    }
+
+    public List<IndexAdviceVm> advise() {
+        Map<String, Map<String, List<String>>> existingIndexes = new ConcurrentHashMap<>();
+        List<IndexAdviceVm> advice = new ArrayList<>();
+        shapes.forEach((shape, count) -> {
+            List<String> suggested = suggestColumns(shape);
+            Map<String, List<String>> indexes = existingIndexes.computeIfAbsent(shape.table(), this::loadIndexes);
+            advice.add(IndexAdviceVm.builder()
+                    .table(shape.table())
+                    .equalityColumns(shape.equalityColumns())
+                    .rangeColumns(shape.rangeColumns())
+                    .orderColumns(shape.orderColumns())
+                    .queries(count.sum())
+                    .suggestedColumns(suggested)
+                    .ddl(suggested.isEmpty() ? null : ddl(shape.table(), suggested))
+                    .coveredBy(suggested.isEmpty() ? null : findCoveringIndex(indexes, suggested))
+                    .build());
+        });
+        advice.sort(Comparator.comparingLong(IndexAdviceVm::getQueries).reversed());
+        return advice;
+    }
+
+    private static List<String> suggestColumns(PredicateShape shape) {
+        List<String> columns = new ArrayList<>(shape.equalityColumns());
+        if (!shape.rangeColumns().isEmpty()) {
+            columns.add(shape.rangeColumns().get(0));
+        } else {
+            // With equality-only filters the index can also deliver the rows already sorted.
+            for (String column : shape.orderColumns()) {
+                if (!column.equals(PRIMARY_KEY_COLUMN) && !columns.contains(column)) {
+                    columns.add(column);
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static String ddl(String table, List<String> columns) {
+        return "CREATE INDEX idx_" + table + "_" + String.join("_", columns)
+                + " ON " + table + " (" + String.join(", ", columns) + ")";
+    }
+
+    private static String findCoveringIndex(Map<String, List<String>> indexes, List<String> columns) {
+        for (Map.Entry<String, List<String>> index : indexes.entrySet()) {
+            List<String> indexColumns = index.getValue();
+            if (indexColumns.size() >= columns.size() && indexColumns.subList(0, columns.size()).equals(columns)) {
+                return index.getKey();
+            }
+        }
+        return null;
+    }
+
+    // Index name -> columns in key order, read from the JDBC metadata of the live schema.
+    private Map<String, List<String>> loadIndexes(String table) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, metaData -> {
+                Map<String, List<String>> indexes = readIndexes(metaData, table);
+                return indexes.isEmpty() ? readIndexes(metaData, table.toUpperCase(Locale.ROOT)) : indexes;
+            });
+        } catch (MetaDataAccessException ex) {
+            log.warn("Could not read indexes of table {}: {}", table, ex.getMessage());
+            return Map.of();
+        }
+    }
+
+    private static Map<String, List<String>> readIndexes(DatabaseMetaData metaData, String table) throws SQLException {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        // Scope to the current database; a null catalog means "all databases" to Connector/J.
+        String catalog = metaData.getConnection().getCatalog();
+        String schema = metaData.getConnection().getSchema();
+        try (ResultSet rs = metaData.getIndexInfo(catalog, schema, table, false, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (indexName == null || column == null) {
+                    continue;
+                }
+                // Rows come ordered by index name and ORDINAL_POSITION.
+                indexes.computeIfAbsent(indexName, name -> new ArrayList<>()).add(column.toLowerCase(Locale.ROOT));
+            }
+        }
+        return indexes;
+    }
+}
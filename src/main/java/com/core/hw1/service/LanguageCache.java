@@ -0,0 +1,106 @@
+package com.core.hw1.service;
+
+import com.core.hw1.model.Language;
+import com.core.hw1.repository.LanguageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Read-mostly copy of the tiny language table, keyed by id and by case-insensitive name.
+@Slf4j
+@Service
+public class LanguageCache {
+
+    private final LanguageRepository languageRepository;
+
+    private volatile Entries entries = new Entries(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+    public LanguageCache(LanguageRepository languageRepository) {
+        this.languageRepository = languageRepository;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.languages.cache.refresh-interval:PT10M}",
+            initialDelayString = "${app.languages.cache.refresh-interval:PT10M}")
+    public void refresh() {
+        try {
+            List<Language> languages = languageRepository.findAll();
+            Entries fresh = new Entries(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+            languages.forEach(fresh::put);
+            entries = fresh;
+            log.info("Loaded {} languages into the cache", languages.size());
+        } catch (DataAccessException ex) {
+            log.warn("Could not refresh the language cache, keeping {} cached entries: {}", entries.byId().size(), ex.getMessage());
+        }
+    }
+
+    public Optional<Language> findById(Byte id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Language language = entries.byId().get(id);
+        if (language != null) {
+            return Optional.of(language);
+        }
+        // Miss: the language may have been added since the last refresh.
+        Optional<Language> loaded = languageRepository.findById(id);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    public Optional<Language> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        Language language = entries.byName().get(normalize(name));
+        if (language != null) {
+            return Optional.of(language);
+        }
+        Optional<Language> loaded = languageRepository.findFirstByNameIgnoreCase(name.trim());
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    public void put(Language language) {
+        if (language.getId() != null) {
+            entries.put(language);
+        }
+    }
+
+    public void evict(Language language) {
+        Entries current = entries;
+        Language removed = current.byId().remove(language.getId());
+        if (removed != null) {
+            current.byName().remove(normalize(removed.getName()));
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entries(Map<Byte, Language> byId, Map<String, Language> byName) {
+        void put(Language language) {
+            Language previous = byId.put(language.getId(), language);
+            if (previous != null) {
+                byName.remove(normalize(previous.getName()));
+            }
+            byName.put(normalize(language.getName()), language);
+        }
+    }
+}
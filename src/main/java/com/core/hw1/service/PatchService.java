@@ -0,0 +1,200 @@
+package com.core.hw1.service;
+
+import com.core.hw1.event.ActorChangedEvent;
+import com.core.hw1.event.ChangeType;
+import com.core.hw1.event.FilmChangedEvent;
+import com.core.hw1.exception.BadRequestException;
+import com.core.hw1.exception.PreconditionFailedException;
+import com.core.hw1.exception.PreconditionRequiredException;
+import com.core.hw1.exception.ResourceNotFoundException;
+import com.core.hw1.model.Actor;
+import com.core.hw1.repository.ActorRepository;
+import com.core.hw1.repository.FilmRepository;
+import com.core.hw1.repository.LanguageRepository;
+import com.core.hw1.util.ETagUtils;
+import com.core.hw1.viewmodel.FilmRequestVm;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Partial updates guarded by If-Match. The version check and the write are a single UPDATE that only sets the
+// patched columns, so concurrent writers get a 412 instead of silently overwriting each other.
+@Service
+public class PatchService {
+
+    // JSON property to entity attribute.
+    private static final Map<String, String> FILM_ATTRIBUTES = Map.ofEntries(
+            Map.entry("title", "title"),
+            Map.entry("description", "description"),
+            Map.entry("releaseYear", "releaseYear"),
+            Map.entry("languageId", "language"),
+            Map.entry("originalLanguageId", "originalLanguage"),
+            Map.entry("rentalDuration", "rentalDuration"),
+            Map.entry("rentalRate", "rentalRate"),
+            Map.entry("length", "length"),
+            Map.entry("replacementCost", "replacementCost"),
+            Map.entry("rating", "rating"),
+            Map.entry("specialFeatures", "specialFeatures"));
+
+    // Properties of NOT NULL columns; a patch cannot clear them.
+    private static final Set<String> FILM_NOT_NULL = Set.of("title", "languageId", "rentalDuration", "rentalRate", "replacementCost");
+
+    // What the in-memory film listeners need from a changed film.
+    private static final List<Set<String>> FILM_LISTENER_PROPERTIES = List.of(FilmSearchIndex.PROPERTIES, FilmStatistics.PROPERTIES);
+
+    private static final Set<String> ACTOR_ATTRIBUTES = Set.of("firstName", "lastName");
+    private static final int ACTOR_NAME_MAX_LENGTH = 45;
+
+    private final FilmRepository filmRepository;
+    private final ActorRepository actorRepository;
+    private final LanguageRepository languageRepository;
+    private final LanguageCache languageCache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PatchService(FilmRepository filmRepository, ActorRepository actorRepository, LanguageRepository languageRepository,
+                        LanguageCache languageCache, ObjectMapper objectMapper, Validator validator,
+                        ApplicationEventPublisher eventPublisher) {
+        this.filmRepository = filmRepository;
+        this.actorRepository = actorRepository;
+        this.languageRepository = languageRepository;
+        this.languageCache = languageCache;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Returns the new last_update, which is also the new ETag.
+    public Instant patchFilm(Short id, String ifMatch, JsonNode patch) {
+        Instant expected = expectedVersion(ifMatch);
+        List<String> fields = patchedFields(patch, FILM_ATTRIBUTES.keySet());
+        FilmRequestVm values = read(patch, FilmRequestVm.class);
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (String field : fields) {
+            if (patch.get(field).isNull() && FILM_NOT_NULL.contains(field)) {
+                throw new BadRequestException(field + " must not be null");
+            }
+            Set<ConstraintViolation<FilmRequestVm>> violations = validator.validateProperty(values, field);
+            if (!violations.isEmpty()) {
+                throw new BadRequestException(violations.iterator().next().getMessage());
+            }
+            changes.put(FILM_ATTRIBUTES.get(field), filmValue(field, values));
+        }
+
+        // A listener's properties are read back with the new version only when the patch changed one of them.
+        Set<String> readBack = new HashSet<>();
+        for (Set<String> properties : FILM_LISTENER_PROPERTIES) {
+            if (!Collections.disjoint(properties, fields)) {
+                readBack.addAll(properties);
+            }
+        }
+        FilmRequestVm film = filmRepository.updateIfUnmodified(id, changes, expected, readBack)
+                .orElseThrow(() -> notUpdated("Film", id, filmRepository.existsById(id)));
+        eventPublisher.publishEvent(new FilmChangedEvent(id, ChangeType.UPDATED, film, Set.copyOf(fields)));
+        return film.getLastUpdate();
+    }
+
+    public Instant patchActor(Short id, String ifMatch, JsonNode patch) {
+        Instant expected = expectedVersion(ifMatch);
+        List<String> fields = patchedFields(patch, ACTOR_ATTRIBUTES);
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (String field : fields) {
+            JsonNode value = patch.get(field);
+            if (!value.isTextual() || value.asText().isBlank() || value.asText().length() > ACTOR_NAME_MAX_LENGTH) {
+                throw new BadRequestException(field + " must be a non-blank string of at most " + ACTOR_NAME_MAX_LENGTH + " characters");
+            }
+            changes.put(field, value.asText());
+        }
+
+        // Every patchable actor field is a name, which the autocomplete index needs in full; it comes back with the version.
+        Actor actor = actorRepository.updateIfUnmodified(id, changes, expected)
+                .orElseThrow(() -> notUpdated("Actor", id, actorRepository.existsById(id)));
+        eventPublisher.publishEvent(new ActorChangedEvent(id, ChangeType.UPDATED, actor));
+        return actor.getLastUpdate().atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    // "*" accepts any current version; anything else must be an ETag handed out by a GET.
+    private static Instant expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new PreconditionRequiredException("If-Match is required; send the ETag of the version being changed");
+        }
+        if (ifMatch.trim().equals("*")) {
+            return null;
+        }
+        return ETagUtils.parseRow(ifMatch)
+                .orElseThrow(() -> new PreconditionFailedException("If-Match does not match the current version"));
+    }
+
+    private static List<String> patchedFields(JsonNode patch, Set<String> patchable) {
+        if (patch == null || !patch.isObject() || patch.isEmpty()) {
+            throw new BadRequestException("The patch must be a non-empty JSON object");
+        }
+        List<String> fields = new ArrayList<>(patch.size());
+        for (Iterator<String> names = patch.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!patchable.contains(name)) {
+                throw new BadRequestException("Cannot patch: " + name);
+            }
+            fields.add(name);
+        }
+        return fields;
+    }
+
+    private <T> T read(JsonNode patch, Class<T> type) {
+        try {
+            return objectMapper.treeToValue(patch, type);
+        } catch (JsonProcessingException ex) {
+            throw new BadRequestException("Invalid patch: " + ex.getOriginalMessage());
+        }
+    }
+
+    private Object filmValue(String field, FilmRequestVm values) {
+        return switch (field) {
+            case "title" -> values.getTitle();
+            case "description" -> values.getDescription();
+            case "releaseYear" -> values.getReleaseYear();
+            case "languageId" -> languageReference(values.getLanguageId(), "Language");
+            case "originalLanguageId" -> values.getOriginalLanguageId() == null
+                    ? null
+                    : languageReference(values.getOriginalLanguageId(), "Original language");
+            case "rentalDuration" -> values.getRentalDuration();
+            case "rentalRate" -> values.getRentalRate();
+            case "length" -> values.getLength();
+            case "replacementCost" -> values.getReplacementCost();
+            case "rating" -> values.getRating();
+            case "specialFeatures" -> values.getSpecialFeatures();
+            default -> throw new BadRequestException("Cannot patch: " + field);
+        };
+    }
+
+    // Checked against the in-memory cache; getReferenceById only builds a proxy, no SELECT.
+    private Object languageReference(Byte id, String label) {
+        return languageCache.findById(id)
+                .map(cached -> languageRepository.getReferenceById(cached.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException(label + " not found with id: " + id));
+    }
+
+    private static RuntimeException notUpdated(String entity, Short id, boolean exists) {
+        return exists
+                ? new PreconditionFailedException(entity + " " + id + " was changed since the given ETag")
+                : new ResourceNotFoundException(entity + " not found with id: " + id);
+    }
+}
@@ -0,0 +1,97 @@
+package com.core.hw1.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Rebuild-from-the-table for the in-memory views kept up to date by change events (search index, actor names,
+// statistics). The table is read outside the owner's lock; changes applied meanwhile are remembered and replayed on
+// top of the fresh state before it is published, so a write racing with the read is never lost. A null value is a
+// delete.
+@Slf4j
+final class ReplayingRebuild<K, V> {
+
+    @FunctionalInterface
+    interface Publisher<S, K, V> {
+        // Called under the lock with the state just read and the changes seen while reading it; returns the number
+        // of entries now live, for the log.
+        int publish(S fresh, Map<K, V> changesDuringRebuild);
+    }
+
+    private final String name;
+    private final Lock lock;
+
+    // Guarded by lock; non-null while a rebuild is reading the table.
+    private Map<K, V> changesDuringRebuild;
+
+    ReplayingRebuild(String name, Lock lock) {
+        this.name = name;
+        this.lock = lock;
+    }
+
+    // Returns false without reading anything when another rebuild is already running.
+    <S> boolean run(Supplier<S> load, Publisher<S, K, V> publisher) {
+        lock.lock();
+        try {
+            if (changesDuringRebuild != null) {
+                log.info("Rebuild of the {} already in progress, skipping", name);
+                return false;
+            }
+            changesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+
+        long start = System.nanoTime();
+        S fresh;
+        try {
+            fresh = load.get();
+        } catch (RuntimeException ex) {
+            lock.lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.unlock();
+            }
+            throw ex;
+        }
+
+        int size;
+        lock.lock();
+        try {
+            size = publisher.publish(fresh, changesDuringRebuild);
+            changesDuringRebuild = null;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Rebuilt the {} over {} entries in {} ms", name, size, (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    // For @Async and @Scheduled callers, which have nobody to report a failure to.
+    void runLogged(Runnable rebuild) {
+        try {
+            rebuild.run();
+        } catch (DataAccessException ex) {
+            log.warn("Could not rebuild the {}: {}", name, ex.getMessage());
+        }
+    }
+
+    // Applies changes to the live state under the lock and remembers them for a rebuild that is reading the table.
+    void apply(Map<K, V> changes, Consumer<Map<K, V>> live) {
+        lock.lock();
+        try {
+            live.accept(changes);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.putAll(changes);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.core.hw1.service;
+
+import com.core.hw1.event.ActorChangedEvent;
+import com.core.hw1.event.ActorsDeletedEvent;
+import com.core.hw1.event.FilmChangedEvent;
+import com.core.hw1.event.FilmsDeletedEvent;
+import com.core.hw1.event.FilmsImportedEvent;
+import com.core.hw1.repository.ActorRepository;
+import com.core.hw1.repository.FilmRepository;
+import com.core.hw1.repository.projection.TableVersion;
+import com.core.hw1.util.ETagUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Validator for list and search responses, per table. COUNT + MAX(last_update) is only queried on first use and on
+// the reconcile interval; in between, every change event moves the version, so @TableETag requests read it from
+// memory and each write gets a new tag even when the count and the newest last_update do not move.
+@Slf4j
+@Service
+public class TableVersionService {
+
+    public static final String FILM = "film";
+    public static final String ACTOR = "actor";
+
+    public record Version(String etag, Instant lastModified) {
+    }
+
+    // Tells this instance's local changes apart from another instance's on the same database state.
+    private final String instanceId = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Map<String, Table> tables;
+
+    public TableVersionService(FilmRepository filmRepository, ActorRepository actorRepository) {
+        this.tables = Map.of(
+                FILM, new Table(filmRepository::findTableVersion),
+                ACTOR, new Table(actorRepository::findTableVersion));
+    }
+
+    public Version versionOf(String table) {
+        return tableOf(table).current();
+    }
+
+    public void changed(String table) {
+        tableOf(table).changed();
+    }
+
+    @EventListener
+    public void onFilmChanged(FilmChangedEvent event) {
+        changed(FILM);
+    }
+
+    @EventListener
+    public void onFilmsDeleted(FilmsDeletedEvent event) {
+        changed(FILM);
+    }
+
+    @EventListener
+    public void onFilmsImported(FilmsImportedEvent event) {
+        changed(FILM);
+    }
+
+    @EventListener
+    public void onActorChanged(ActorChangedEvent event) {
+        changed(ACTOR);
+    }
+
+    @EventListener
+    public void onActorsDeleted(ActorsDeletedEvent event) {
+        changed(ACTOR);
+    }
+
+    // Picks up writes that did not go through this instance.
+    @Scheduled(fixedDelayString = "${app.table-versions.reconcile-interval:PT1M}",
+            initialDelayString = "${app.table-versions.reconcile-interval:PT1M}")
+    public void reconcile() {
+        tables.forEach((name, table) -> {
+            try {
+                table.reconcile();
+            } catch (DataAccessException ex) {
+                log.warn("Could not reconcile the {} table version: {}", name, ex.getMessage());
+            }
+        });
+    }
+
+    private Table tableOf(String table) {
+        Table version = tables.get(table);
+        if (version == null) {
+            throw new IllegalArgumentException("No version query for table: " + table);
+        }
+        return version;
+    }
+
+    // base is the database state last queried; localChanges counts the events since then.
+    private record State(TableVersion base, long localChanges, Instant lastModified) {
+
+        static State of(TableVersion base) {
+            return new State(base, 0, base.lastUpdate());
+        }
+
+        State changed() {
+            Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+            return new State(base, localChanges + 1, lastModified == null || now.isAfter(lastModified) ? now : lastModified);
+        }
+    }
+
+    private final class Table {
+
+        private final Supplier<TableVersion> query;
+        private final ReentrantLock lock = new ReentrantLock();
+        private State state;
+
+        private Table(Supplier<TableVersion> query) {
+            this.query = query;
+        }
+
+        // The first read queries under the lock, so a change event arriving meanwhile is applied on top of it.
+        Version current() {
+            lock.lock();
+            try {
+                if (state == null) {
+                    state = State.of(query.get());
+                }
+                String etag = state.localChanges() == 0
+                        ? ETagUtils.forTable(state.base())
+                        : ETagUtils.forTable(state.base(), instanceId, state.localChanges());
+                return new Version(etag, state.lastModified());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void changed() {
+            lock.lock();
+            try {
+                // Not read yet: the first read queries the table, which already includes this change.
+                if (state != null) {
+                    state = state.changed();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Rebases on the database once it differs from the last query. A change whose event is still in flight is
+        // counted on top when the event arrives.
+        void reconcile() {
+            TableVersion current = query.get();
+            lock.lock();
+            try {
+                if (state != null && !state.base().equals(current)) {
+                    state = State.of(current);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
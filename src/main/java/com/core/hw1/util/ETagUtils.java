@@ -0,0 +1,54 @@
+package com.core.hw1.util;
+
+import com.core.hw1.repository.projection.TableVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.Optional;
+
+// Validators derived from last_update. Its second precision means two changes within the same second share a tag.
+public final class ETagUtils {
+
+    private ETagUtils() {
+    }
+
+    // Strong tag for a single row.
+    public static String forRow(Instant lastUpdate) {
+        return "\"" + lastUpdate.getEpochSecond() + "\"";
+    }
+
+    // Only a request carrying a validator needs the current last_update from the database; any other one can be
+    // answered from a cached copy.
+    public static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // Reads back the version from an If-Match value made by forRow. Weak, malformed or multiple tags never match,
+    // so they come back empty.
+    public static Optional<Instant> parseRow(String etag) {
+        String value = etag.trim();
+        if (value.length() < 3 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Instant.ofEpochSecond(Long.parseLong(value.substring(1, value.length() - 1))));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
+
+    // Weak tag for anything computed from a whole table (lists, search pages): inserts, updates and deletes all
+    // move the row count or the newest last_update.
+    public static String forTable(TableVersion version) {
+        long lastUpdate = version.lastUpdate() == null ? 0 : version.lastUpdate().getEpochSecond();
+        return "W/\"" + version.rowCount() + "-" + lastUpdate + "\"";
+    }
+
+    // Same, after changes made through this instance since the table was last queried; the counter moves on every
+    // write, including several within the same second.
+    public static String forTable(TableVersion base, String instanceId, long localChanges) {
+        String tag = forTable(base);
+        return tag.substring(0, tag.length() - 1) + "-" + instanceId + "-" + localChanges + "\"";
+    }
+}
@@ -0,0 +1,23 @@
+package com.core.hw1.util;
+
+import com.core.hw1.exception.BadRequestException;
+
+public final class PageUtils {
+
+    private PageUtils() {
+    }
+
+    // Rejects what PageRequest or an offset computation would otherwise turn into a 500.
+    public static void check(int page, int size, int maxSize) {
+        if (page < 0) {
+            throw new BadRequestException("Page number must not be negative");
+        }
+        checkSize(size, maxSize);
+    }
+
+    public static void checkSize(int size, int maxSize) {
+        if (size < 1 || size > maxSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxSize);
+        }
+    }
+}
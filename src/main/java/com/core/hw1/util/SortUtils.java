@@ -0,0 +1,46 @@
+package com.core.hw1.util;
+
+import com.core.hw1.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public final class SortUtils {
+
+    private SortUtils() {
+    }
+
+    // Parses "property,direction" pairs; the ID is always appended so pages are stable.
+    public static Sort parse(List<String> sort, Collection<String> sortable, String idProperty) {
+        List<Sort.Order> orders = new ArrayList<>();
+        if (sort != null) {
+            for (int i = 0; i < sort.size(); i++) {
+                String property = sort.get(i).trim();
+                // Spring splits "length,desc" into two values when it is the only sort parameter.
+                Sort.Direction direction = Sort.Direction.ASC;
+                int comma = property.indexOf(',');
+                if (comma >= 0) {
+                    direction = parseDirection(property.substring(comma + 1).trim());
+                    property = property.substring(0, comma).trim();
+                } else if (i + 1 < sort.size() && Sort.Direction.fromOptionalString(sort.get(i + 1).trim()).isPresent()) {
+                    direction = parseDirection(sort.get(++i).trim());
+                }
+                if (!sortable.contains(property)) {
+                    throw new BadRequestException("Cannot sort by: " + property);
+                }
+                orders.add(new Sort.Order(direction, property));
+            }
+        }
+        if (orders.stream().noneMatch(order -> order.getProperty().equals(idProperty))) {
+            orders.add(Sort.Order.asc(idProperty));
+        }
+        return Sort.by(orders);
+    }
+
+    private static Sort.Direction parseDirection(String direction) {
+        return Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new BadRequestException("Invalid sort direction: " + direction));
+    }
+}
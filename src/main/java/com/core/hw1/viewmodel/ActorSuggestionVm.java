@@ -0,0 +1,23 @@
+package com.core.hw1.viewmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Schema(description = "An actor whose first, last or full name starts with the typed prefix.")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ActorSuggestionVm {
+
+    @Schema(description = "ID of the actor.", example = "1")
+    private Short actorId;
+
+    @Schema(description = "First name of the actor.", example = "PENELOPE")
+    private String firstName;
+
+    @Schema(description = "Last name of the actor.", example = "GUINESS")
+    private String lastName;
+
+}
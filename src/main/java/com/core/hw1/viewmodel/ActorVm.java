@@ -0,0 +1,29 @@
+package com.core.hw1.viewmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "An actor as returned by list endpoints.")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ActorVm {
+
+    @Schema(description = "ID of the actor.", example = "1")
+    private Short actorId;
+
+    @Schema(description = "First name of the actor.", example = "PENELOPE")
+    private String firstName;
+
+    @Schema(description = "Last name of the actor.", example = "GUINESS")
+    private String lastName;
+
+    @Schema(description = "When the actor was last changed.", example = "2006-02-15T04:34:33",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime lastUpdate;
+
+}
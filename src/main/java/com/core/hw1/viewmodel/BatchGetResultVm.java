@@ -0,0 +1,22 @@
+package com.core.hw1.viewmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Schema(description = "Result of fetching several items by ID in one request.")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchGetResultVm<T> {
+
+    @Schema(description = "Found items, in the order their IDs were requested.")
+    private List<T> items;
+
+    @Schema(description = "Requested IDs that do not exist, in request order.", example = "[9999]")
+    private List<Short> missingIds;
+
+}
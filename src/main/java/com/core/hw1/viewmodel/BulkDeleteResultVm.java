@@ -0,0 +1,26 @@
+package com.core.hw1.viewmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Schema(description = "Outcome of a bulk delete.")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkDeleteResultVm {
+
+    @Schema(description = "Number of distinct IDs in the request, or null when a filter was used.", example = "3")
+    private Integer requested;
+
+    @Schema(description = "Number of rows deleted.", example = "2")
+    private int deleted;
+
+    @Schema(description = "Number of DELETE statements run.", example = "1")
+    private int chunks;
+
+    @Schema(description = "Wall-clock time spent deleting, in milliseconds.", example = "12")
+    private long elapsedMs;
+
+}
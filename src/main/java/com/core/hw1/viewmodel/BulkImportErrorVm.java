@@ -0,0 +1,20 @@
+package com.core.hw1.viewmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Schema(description = "A row of a bulk import that could not be stored.")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkImportErrorVm {
+
+    @Schema(description = "Zero-based position of the row in the request body.", example = "3")
+    private int index;
+
+    @Schema(description = "Why the row was rejected.", example = "title: Title is mandatory and cannot be blank.")
+    private String message;
+
+}
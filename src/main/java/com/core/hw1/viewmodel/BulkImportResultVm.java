@@ -0,0 +1,34 @@
+package com.core.hw1.viewmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk film import.")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkImportResultVm {
+
+    @Schema(description = "Number of rows read from the request body.", example = "1000")
+    private int received;
+
+    @Schema(description = "Number of rows inserted.", example = "998")
+    private int imported;
+
+    @Schema(description = "Number of rows rejected.", example = "2")
+    private int failed;
+
+    @Schema(description = "Per-row failures, in request order.")
+    private List<BulkImportErrorVm> errors;
+
+    @Schema(description = "Wall-clock time spent importing, in milliseconds.", example = "420")
+    private long elapsedMs;
+
+    @Schema(description = "Inserted rows per second over the whole request.", example = "2376.2")
+    private double rowsPerSecond;
+
+}
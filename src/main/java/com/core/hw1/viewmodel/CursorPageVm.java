@@ -0,0 +1,22 @@
+package com.core.hw1.viewmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Schema(description = "A page of results fetched with keyset (cursor) pagination.")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPageVm<T> {
+
+    @Schema(description = "Items on this page, ordered by ID.")
+    private List<T> content;
+
+    @Schema(description = "Opaque cursor for the next page, or null when this is the last page.", example = "aWQ6MTA")
+    private String nextCursor;
+
+}
@@ -0,0 +1,22 @@
+package com.core.hw1.viewmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Schema(description = "Films to delete, given either as IDs or as a search filter.")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FilmBulkDeleteRequestVm {
+
+    @Schema(description = "IDs of the films to delete. Mutually exclusive with filter.", example = "[1, 2, 3]")
+    private List<Short> ids;
+
+    @Schema(description = "Deletes every film matching these criteria; at least one must be set. Mutually exclusive with ids.")
+    private FilmSearchCriteria filter;
+
+}
@@ -7,6 +7,7 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Set;
 
 @Schema(description = "Data Transfer Object for creating or updating a film.")
@@ -17,6 +18,9 @@ import java.util.Set;
 @Builder
 public class FilmRequestVm {
 
+    @Schema(description = "Unique identifier of the film.", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    private Short id;
+
     @NotBlank(message = "Title is mandatory and cannot be blank.")
     @Size(max = 255, message = "Title cannot be longer than 255 characters.")
     @Schema(description = "Title of the film.", example = "THE MATRIX", requiredMode = Schema.RequiredMode.REQUIRED)
@@ -63,4 +67,8 @@ public class FilmRequestVm {
     @Schema(description = "A list of special features included with the film.", example = "[\"Trailers\", \"Deleted Scenes\"]")
     private Set<SpecialFeature> specialFeatures;
 
+    @Schema(description = "When the film was last changed. Ignored on create and update.", example = "2006-02-15T05:03:42Z",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private Instant lastUpdate;
+
 }
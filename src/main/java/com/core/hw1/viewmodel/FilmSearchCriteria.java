@@ -0,0 +1,41 @@
+package com.core.hw1.viewmodel;
+
+import com.core.hw1.enumeration.Rating;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Optional filters for the combined film search. Omitted filters are not applied; ranges are inclusive.")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FilmSearchCriteria {
+
+    @Schema(description = "The MPAA rating.", example = "PG-13")
+    private Rating rating;
+
+    @Schema(description = "Earliest release year.", example = "2000")
+    private Integer yearFrom;
+
+    @Schema(description = "Latest release year.", example = "2006")
+    private Integer yearTo;
+
+    @Schema(description = "Minimum length in minutes.", example = "120")
+    private Integer minLength;
+
+    @Schema(description = "Maximum length in minutes.", example = "180")
+    private Integer maxLength;
+
+    @Schema(description = "Name of the film's language.", example = "English")
+    private String language;
+
+    @Schema(description = "Minimum rental rate.", example = "0.99")
+    private BigDecimal minRentalRate;
+
+    @Schema(description = "Maximum rental rate.", example = "2.99")
+    private BigDecimal maxRentalRate;
+
+}
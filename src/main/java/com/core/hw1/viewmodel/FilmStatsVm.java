@@ -0,0 +1,39 @@
+package com.core.hw1.viewmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "Catalog-wide film statistics, maintained in memory.")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FilmStatsVm {
+
+    @Schema(description = "Number of films.", example = "1000")
+    private long total;
+
+    @Schema(description = "Films per rating; films without one are counted under \"unknown\".", example = "{\"G\": 178, \"PG\": 194}")
+    private Map<String, Long> byRating;
+
+    @Schema(description = "Films per release year, in ascending year order.", example = "{\"2006\": 1000}")
+    private Map<String, Long> byReleaseYear;
+
+    @Schema(description = "Films per language name.", example = "{\"English\": 1000}")
+    private Map<String, Long> byLanguage;
+
+    @Schema(description = "Average length in minutes of the films that have one.", example = "115.27")
+    private Double averageLength;
+
+    @Schema(description = "Average rental rate.", example = "2.98")
+    private BigDecimal averageRentalRate;
+
+    @Schema(description = "When the statistics were last checked against the database.", example = "2006-02-15T05:03:42Z")
+    private Instant reconciledAt;
+
+}
@@ -0,0 +1,32 @@
+package com.core.hw1.viewmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Schema(description = "State of the on-demand flight recording.")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FlightRecordingVm {
+
+    @Schema(description = "NEW, RUNNING, STOPPED or CLOSED; NONE when no recording was started.", example = "RUNNING")
+    private String state;
+
+    @Schema(description = "When the recording started.", example = "2024-05-01T12:00:00Z")
+    private Instant startTime;
+
+    @Schema(description = "When the recording stopped, if it has.", example = "2024-05-01T12:05:00Z")
+    private Instant stopTime;
+
+    @Schema(description = "History kept by the recording.", example = "PT15M")
+    private Duration maxAge;
+
+    @Schema(description = "Bytes recorded so far.", example = "10485760")
+    private long size;
+
+}
@@ -0,0 +1,41 @@
+package com.core.hw1.viewmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Schema(description = "A predicate combination seen by the dynamic search and the composite index that would serve it.")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IndexAdviceVm {
+
+    @Schema(description = "Table the queries run against.", example = "film")
+    private String table;
+
+    @Schema(description = "Columns compared with '='.", example = "[\"rating\", \"language_id\"]")
+    private List<String> equalityColumns;
+
+    @Schema(description = "Columns compared with a range.", example = "[\"length\"]")
+    private List<String> rangeColumns;
+
+    @Schema(description = "Columns the results are ordered by.", example = "[\"film_id\"]")
+    private List<String> orderColumns;
+
+    @Schema(description = "How many queries had this shape since startup.", example = "42")
+    private long queries;
+
+    @Schema(description = "Columns of the suggested composite index, in order. Empty when no index would help.")
+    private List<String> suggestedColumns;
+
+    @Schema(description = "DDL for the suggested index, or null when none is needed.",
+            example = "CREATE INDEX idx_film_rating_language_id_length ON film (rating, language_id, length)")
+    private String ddl;
+
+    @Schema(description = "Name of an existing index whose leading columns already match the suggestion, if any.", example = "idx_fk_language_id")
+    private String coveredBy;
+
+}
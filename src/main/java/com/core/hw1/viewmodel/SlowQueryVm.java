@@ -0,0 +1,31 @@
+package com.core.hw1.viewmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.Instant;
+
+@Schema(description = "A statement execution that took longer than the slow query threshold.")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SlowQueryVm {
+
+    @Schema(description = "When the execution finished.", example = "2024-05-01T12:00:00Z")
+    private Instant at;
+
+    @Schema(description = "The normalized statement.", example = "select f1_0.film_id,... from film f1_0 where f1_0.length>? order by f1_0.title")
+    private String shape;
+
+    @Schema(description = "Execution time in milliseconds.", example = "153.2")
+    private double durationMs;
+
+    @Schema(description = "Trace id of the HTTP request that ran it; null for background work.", example = "3f1c2a9e-8f1b-4a57-9d1e-2f0a5c4b7e21")
+    private String traceId;
+
+    @Schema(description = "Thread that ran it.", example = "tomcat-handler-12")
+    private String thread;
+
+}
@@ -0,0 +1,38 @@
+package com.core.hw1.viewmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.Map;
+
+@Schema(description = "Execution statistics for one normalized SQL statement since startup (or the last reset).")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SqlShapeStatsVm {
+
+    @Schema(description = "The statement with literals replaced by '?' and IN lists collapsed.",
+            example = "select l1_0.language_id,l1_0.last_update,l1_0.name from language l1_0 where l1_0.language_id=?")
+    private String shape;
+
+    @Schema(description = "How many times it was executed.", example = "1200")
+    private long executions;
+
+    @Schema(description = "Summed execution time in milliseconds, excluding reading the result set.", example = "840.5")
+    private double totalMs;
+
+    @Schema(description = "Mean execution time in milliseconds.", example = "0.7")
+    private double meanMs;
+
+    @Schema(description = "Slowest execution in milliseconds.", example = "12.3")
+    private double maxMs;
+
+    @Schema(description = "Rows read from its result sets.", example = "1200")
+    private long rows;
+
+    @Schema(description = "Executions per latency bucket, keyed by the bucket's upper bound (e.g. \"<=5ms\", \">1000ms\").")
+    private Map<String, Long> histogram;
+
+}
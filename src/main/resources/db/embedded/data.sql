@@ -0,0 +1,33 @@
+INSERT INTO language (name) VALUES ('English'), ('Italian'), ('Japanese'), ('Mandarin'), ('French'), ('German');
+
+-- Films 1..1000: deterministic spread over rating, year, length, language and special features.
+INSERT INTO film (title, description, release_year, language_id, original_language_id, rental_duration, rental_rate,
+                  length, replacement_cost, rating, special_features)
+SELECT 'FILM ' || LPAD(CAST(n AS VARCHAR), 4, '0'),
+       'A ' || CASE MOD(n, 5) WHEN 0 THEN 'Epic' WHEN 1 THEN 'Touching' WHEN 2 THEN 'Boring' WHEN 3 THEN 'Fanciful' ELSE 'Intrepid' END
+           || ' ' || CASE MOD(n, 4) WHEN 0 THEN 'Drama' WHEN 1 THEN 'Documentary' WHEN 2 THEN 'Saga' ELSE 'Panorama' END
+           || ' of a ' || CASE MOD(n, 6) WHEN 0 THEN 'Database Administrator' WHEN 1 THEN 'Mad Scientist' WHEN 2 THEN 'Robot'
+                                         WHEN 3 THEN 'Moose' WHEN 4 THEN 'Pastry Chef' ELSE 'Lumberjack' END,
+       2000 + MOD(n, 25),
+       CASE WHEN MOD(n, 4) = 0 THEN 2 + MOD(n / 4, 5) ELSE 1 END,
+       CASE WHEN MOD(n, 10) = 0 THEN 1 ELSE NULL END,
+       3 + MOD(n, 5),
+       CASE MOD(n, 3) WHEN 0 THEN 0.99 WHEN 1 THEN 2.99 ELSE 4.99 END,
+       46 + MOD(n * 7, 140),
+       9.99 + MOD(n, 21),
+       CASE MOD(n, 5) WHEN 0 THEN 'G' WHEN 1 THEN 'PG' WHEN 2 THEN 'PG-13' WHEN 3 THEN 'R' ELSE 'NC-17' END,
+       CASE MOD(n, 5) WHEN 0 THEN 'Trailers' WHEN 1 THEN 'Commentaries' WHEN 2 THEN 'Deleted Scenes,Behind the Scenes'
+                      WHEN 3 THEN 'Trailers,Deleted Scenes' ELSE NULL END
+-- DATABASE_TO_LOWER would turn an unquoted X into a column that does not exist.
+FROM (SELECT "X" AS n FROM SYSTEM_RANGE(1, 1000)) seq;
+
+-- Actors 1..200: every first name combined with every last name.
+INSERT INTO actor (first_name, last_name)
+SELECT CASE MOD(n, 10) WHEN 0 THEN 'PENELOPE' WHEN 1 THEN 'NICK' WHEN 2 THEN 'ED' WHEN 3 THEN 'JENNIFER' WHEN 4 THEN 'JOHNNY'
+                       WHEN 5 THEN 'BETTE' WHEN 6 THEN 'GRACE' WHEN 7 THEN 'MATTHEW' WHEN 8 THEN 'JOE' ELSE 'CHRISTIAN' END,
+       CASE MOD(n / 10, 20) WHEN 0 THEN 'GUINESS' WHEN 1 THEN 'WAHLBERG' WHEN 2 THEN 'CHASE' WHEN 3 THEN 'DAVIS'
+                            WHEN 4 THEN 'LOLLOBRIGIDA' WHEN 5 THEN 'NICHOLSON' WHEN 6 THEN 'MOSTEL' WHEN 7 THEN 'JOHANSSON'
+                            WHEN 8 THEN 'SWANK' WHEN 9 THEN 'GABLE' WHEN 10 THEN 'CAGE' WHEN 11 THEN 'BERRY'
+                            WHEN 12 THEN 'WOOD' WHEN 13 THEN 'BERGEN' WHEN 14 THEN 'OLIVIER' WHEN 15 THEN 'COSTNER'
+                            WHEN 16 THEN 'VOIGHT' WHEN 17 THEN 'TORN' WHEN 18 THEN 'FAWCETT' ELSE 'TRACY' END
+FROM (SELECT "X" AS n FROM SYSTEM_RANGE(0, 199)) seq;
@@ -0,0 +1,38 @@
+-- Subset of the Sakila schema used by the application, in H2's MySQL compatibility mode.
+-- last_update is TIMESTAMP(0) like in MySQL: row ETags and Last-Modified are whole seconds.
+CREATE TABLE language (
+  language_id TINYINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  name CHAR(20) NOT NULL,
+  last_update TIMESTAMP(0) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE film (
+  film_id SMALLINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  title VARCHAR(128) NOT NULL,
+  description TEXT,
+  release_year INT,
+  language_id TINYINT NOT NULL,
+  original_language_id TINYINT,
+  rental_duration TINYINT NOT NULL DEFAULT 3,
+  rental_rate DECIMAL(4,2) NOT NULL DEFAULT 4.99,
+  length SMALLINT,
+  replacement_cost DECIMAL(5,2) NOT NULL DEFAULT 19.99,
+  rating ENUM('G','PG','PG-13','R','NC-17') DEFAULT 'G',
+  special_features VARCHAR(100),
+  last_update TIMESTAMP(0) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  FOREIGN KEY (language_id) REFERENCES language(language_id),
+  FOREIGN KEY (original_language_id) REFERENCES language(language_id)
+);
+
+CREATE INDEX idx_title ON film (title);
+CREATE INDEX idx_fk_language_id ON film (language_id);
+CREATE INDEX idx_fk_original_language_id ON film (original_language_id);
+
+CREATE TABLE actor (
+  actor_id SMALLINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  first_name VARCHAR(45) NOT NULL,
+  last_name VARCHAR(45) NOT NULL,
+  last_update TIMESTAMP(0) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_actor_last_name ON actor (last_name);
@@ -0,0 +1,96 @@
+package com.core.hw1.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLimiterTest {
+
+    private static final long TARGET = Duration.ofMillis(100).toNanos();
+
+    private static AdaptiveLimiter limiter(int initialLimit, int maxQueue, Duration maxWait) {
+        AdmissionControlProperties.Limits limits = new AdmissionControlProperties.Limits();
+        limits.setInitialLimit(initialLimit);
+        limits.setMinLimit(1);
+        limits.setMaxLimit(100);
+        limits.setMaxQueue(maxQueue);
+        limits.setMaxWait(maxWait);
+        limits.setTargetLatency(Duration.ofNanos(TARGET));
+        return new AdaptiveLimiter(limits, 0.5);
+    }
+
+    @Test
+    void fastResponsesUnderLoadGrowTheLimit() throws InterruptedException {
+        AdaptiveLimiter limiter = limiter(4, 0, Duration.ZERO);
+        long now = System.nanoTime();
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < limiter.getLimit(); i++) {
+                assertThat(limiter.acquire()).isEqualTo(AdaptiveLimiter.Outcome.ACQUIRED);
+            }
+            int admitted = limiter.getInFlight();
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(now, now + TARGET / 2, false);
+            }
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void slowResponsesAdmittedTogetherBackOffOnce() throws InterruptedException {
+        AdaptiveLimiter limiter = limiter(16, 0, Duration.ZERO);
+        long admitted = System.nanoTime();
+        for (int i = 0; i < 16; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < 16; i++) {
+            limiter.release(admitted, admitted + 2 * TARGET + i, false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        // A request admitted after that decrease is a new congestion signal.
+        long later = admitted + 3 * TARGET;
+        limiter.acquire();
+        limiter.release(later, later + 2 * TARGET, false);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void requestsOverTheLimitQueueUpToMaxQueue() throws Exception {
+        AdaptiveLimiter limiter = limiter(1, 1, Duration.ofSeconds(5));
+        assertThat(limiter.acquire()).isEqualTo(AdaptiveLimiter.Outcome.ACQUIRED);
+        long admitted = System.nanoTime();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<AdaptiveLimiter.Outcome> waiter = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return limiter.acquire();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor);
+            while (limiter.getQueued() == 0) {
+                Thread.onSpinWait();
+            }
+            assertThat(limiter.acquire()).isEqualTo(AdaptiveLimiter.Outcome.QUEUE_FULL);
+
+            limiter.release(admitted, admitted + 1, false);
+            assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo(AdaptiveLimiter.Outcome.ACQUIRED);
+        }
+        assertThat(limiter.getQueued()).isZero();
+    }
+
+    @Test
+    void queuedRequestTimesOut() throws InterruptedException {
+        AdaptiveLimiter limiter = limiter(1, 10, Duration.ofMillis(20));
+        limiter.acquire();
+        assertThat(limiter.acquire()).isEqualTo(AdaptiveLimiter.Outcome.TIMED_OUT);
+        assertThat(limiter.getQueued()).isZero();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,42 @@
+package com.core.hw1.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@EmbeddedMvcTest
+class ActorListTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void listsActorsAsViews() throws Exception {
+        String body = mockMvc.perform(get("/api/v1/actors").param("size", "3").param("sort", "actorId,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].firstName").isString())
+                .andExpect(jsonPath("$[0].lastUpdate").isString())
+                .andReturn().getResponse().getContentAsString();
+        List<Integer> ids = JsonPath.read(body, "$[*].actorId");
+        assertThat(ids).doesNotHaveDuplicates().isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void negativePageOrOversizedPageIs400() throws Exception {
+        mockMvc.perform(get("/api/v1/actors").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/actors").param("size", "101"))
+                .andExpect(status().isBadRequest());
+    }
+}
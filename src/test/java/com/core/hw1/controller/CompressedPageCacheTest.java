@@ -0,0 +1,61 @@
+package com.core.hw1.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@EmbeddedMvcTest
+class CompressedPageCacheTest {
+
+    private static final String PAGE = "/api/v1/films?page=0&size=50";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private MockHttpServletResponse getPage() throws Exception {
+        return mockMvc.perform(get(PAGE).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private void patchTitle(String title) throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/films/7")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(patch("/api/v1/films/7").header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"" + title + "\"}"))
+                .andExpect(status().isNoContent());
+    }
+
+    private static String gunzip(MockHttpServletResponse response) throws IOException {
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // Both writes usually land in the same second, which the count and newest last_update alone cannot tell apart.
+    @Test
+    void writesWithinTheSameSecondAreNotServedFromTheCache() throws Exception {
+        patchTitle("CACHED ONE");
+        MockHttpServletResponse first = getPage();
+        assertThat(gunzip(first)).contains("CACHED ONE");
+        assertThat(gunzip(getPage())).contains("CACHED ONE");
+
+        patchTitle("CACHED TWO");
+        MockHttpServletResponse second = getPage();
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isNotEqualTo(first.getHeader(HttpHeaders.ETAG));
+        assertThat(gunzip(second)).contains("CACHED TWO").doesNotContain("CACHED ONE");
+    }
+}
@@ -0,0 +1,21 @@
+package com.core.hw1.controller;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Runs on the generated H2 data of the embedded profile. Every test class with this annotation shares one context and
+// one database, so a test that writes must not rely on exact row counts or IDs elsewhere, and must roll back or
+// restore anything other tests could read.
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+@interface EmbeddedMvcTest {
+}
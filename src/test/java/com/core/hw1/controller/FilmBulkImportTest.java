@@ -0,0 +1,103 @@
+package com.core.hw1.controller;
+
+import com.core.hw1.service.FilmSearchIndex;
+import com.core.hw1.service.FilmStatistics;
+import com.core.hw1.viewmodel.FilmStatsVm;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@EmbeddedMvcTest
+class FilmBulkImportTest {
+
+    private static final String FILM = "{\"title\": \"%s\", \"description\": \"Imported in bulk\", \"languageId\": 1, "
+            + "\"rentalDuration\": 3, \"rentalRate\": 2.99, \"replacementCost\": 14.99, \"rating\": \"PG\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilmSearchIndex filmSearchIndex;
+
+    @Autowired
+    private FilmStatistics filmStatistics;
+
+    private void awaitSearchIndex() throws InterruptedException {
+        for (int i = 0; i < 100 && !filmSearchIndex.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(filmSearchIndex.isReady()).isTrue();
+    }
+
+    @Test
+    void importedFilmsAreSearchableWithoutARebuild() throws Exception {
+        awaitSearchIndex();
+        String body = "[" + FILM.formatted("ZQXJ IMPORTED ONE") + "," + FILM.formatted("ZQXJ IMPORTED TWO") + "]";
+        mockMvc.perform(post("/api/v1/films/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+
+        mockMvc.perform(get("/api/v1/films/search/text").param("q", "zqxj imported"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").isNumber());
+        mockMvc.perform(get("/api/v1/films/search/title").param("keyword", "zqxj imported two"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("ZQXJ IMPORTED TWO"));
+    }
+
+    @Test
+    void importedFilmsAreCountedWithoutAReconciliation() throws Exception {
+        for (int i = 0; i < 100 && !filmStatistics.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        FilmStatsVm before = filmStatistics.get();
+        String ndjson = FILM.formatted("STATS IMPORT ONE") + "\n" + FILM.formatted("STATS IMPORT TWO") + "\n";
+        mockMvc.perform(post("/api/v1/films/bulk").contentType("application/x-ndjson").content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+
+        FilmStatsVm after = filmStatistics.get();
+        assertThat(after.getTotal()).isEqualTo(before.getTotal() + 2);
+        assertThat(after.getReconciledAt()).isEqualTo(before.getReconciledAt());
+    }
+
+    @Test
+    void nullEntriesAreRejectedPerRow() throws Exception {
+        mockMvc.perform(post("/api/v1/films/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + FILM.formatted("NULL NEIGHBOUR") + ", null]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1));
+
+        String ndjson = "null\n{not json\n" + FILM.formatted("NDJSON NEIGHBOUR") + "\n";
+        mockMvc.perform(post("/api/v1/films/bulk").contentType("application/x-ndjson").content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(0))
+                .andExpect(jsonPath("$.errors[1].index").value(1));
+    }
+
+    @Test
+    void negativePageOrOversizedPageIs400() throws Exception {
+        mockMvc.perform(get("/api/v1/films/search/text").param("q", "drama").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/films/search/title").param("keyword", "a").param("size", "-5"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/films/search/text").param("q", "drama").param("size", "1000000"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,59 @@
+package com.core.hw1.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@EmbeddedMvcTest
+class FilmPagingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void cursorPageSizeIsCapped() throws Exception {
+        mockMvc.perform(get("/api/v1/films").param("cursor", "").param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(100)));
+        mockMvc.perform(get("/api/v1/films").param("cursor", "").param("size", "101"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/films").param("cursor", "").param("size", "2147483647"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/films").param("cursor", "").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void negativePageIs400() throws Exception {
+        mockMvc.perform(get("/api/v1/films").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchPagingIsChecked() throws Exception {
+        mockMvc.perform(get("/api/v1/films/search").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/films/search").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/films/search").param("size", "1000000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/films/search").param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(100)));
+    }
+
+    @Test
+    void featureSearchPagingIsChecked() throws Exception {
+        mockMvc.perform(get("/api/v1/films/search/features").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/films/search/features").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/films/search/features").param("size", "1000000"))
+                .andExpect(status().isBadRequest());
+    }
+}
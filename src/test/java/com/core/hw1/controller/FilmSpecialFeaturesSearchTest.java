@@ -0,0 +1,47 @@
+package com.core.hw1.controller;
+
+import com.core.hw1.config.CompressedPageCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@EmbeddedMvcTest
+@Transactional
+class FilmSpecialFeaturesSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CompressedPageCache compressedPageCache;
+
+    // The rows are rolled back, but the page built from them would stay cached.
+    @AfterEach
+    void dropCachedPages() {
+        compressedPageCache.invalidate();
+    }
+
+    // MySQL stores an empty SET as '', rows written by this application as NULL; both mean "no features".
+    @Test
+    void emptyFeatureSetMatchesNullAndEmptyColumn() throws Exception {
+        jdbcTemplate.update("UPDATE film SET special_features = NULL WHERE film_id = 11");
+        jdbcTemplate.update("UPDATE film SET special_features = '' WHERE film_id = 12");
+
+        mockMvc.perform(get("/api/v1/films/search/features")
+                        .param("excluded", "Trailers", "Commentaries", "Deleted Scenes", "Behind the Scenes")
+                        .param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItems(11, 12)));
+    }
+}
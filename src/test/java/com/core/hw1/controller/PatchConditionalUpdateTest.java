@@ -0,0 +1,183 @@
+package com.core.hw1.controller;
+
+import com.core.hw1.service.FilmStatistics;
+import com.core.hw1.util.ETagUtils;
+import com.core.hw1.viewmodel.FilmStatsVm;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@EmbeddedMvcTest
+class PatchConditionalUpdateTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private FilmStatistics filmStatistics;
+
+    private String etagOf(String uri) throws Exception {
+        return mockMvc.perform(get(uri)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private String patchTitle(String uri, String ifMatch, String title) throws Exception {
+        return mockMvc.perform(patch(uri).header(HttpHeaders.IF_MATCH, ifMatch)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"" + title + "\"}"))
+                .andExpect(status().isNoContent())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private double statementsOf(String route) {
+        DistributionSummary statements = meterRegistry.find("api.route.db.statements").tag("route", route).summary();
+        return statements == null ? 0 : statements.totalAmount();
+    }
+
+    private static Instant versionOf(String etag) {
+        return ETagUtils.parseRow(etag).orElseThrow();
+    }
+
+    @Test
+    void validatorsOfACachedGetMatchTheDatabase() throws Exception {
+        // The second plain GET is served from the cache.
+        etagOf("/api/v1/films/6");
+        var cached = mockMvc.perform(get("/api/v1/films/6")).andExpect(status().isOk()).andReturn().getResponse();
+        mockMvc.perform(get("/api/v1/films/6").header(HttpHeaders.IF_NONE_MATCH, cached.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/films/6").header(HttpHeaders.IF_MODIFIED_SINCE, cached.getHeader(HttpHeaders.LAST_MODIFIED)))
+                .andExpect(status().isNotModified());
+
+        String actorTag = etagOf("/api/v1/actors/6");
+        mockMvc.perform(get("/api/v1/actors/6").header(HttpHeaders.IF_NONE_MATCH, actorTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void nullForANonNullableColumnIs400() throws Exception {
+        for (String field : new String[]{"languageId", "title", "rentalDuration", "rentalRate", "replacementCost"}) {
+            mockMvc.perform(patch("/api/v1/films/10").header(HttpHeaders.IF_MATCH, "*")
+                            .contentType(MediaType.APPLICATION_JSON).content("{\"" + field + "\": null}"))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(patch("/api/v1/actors/10").header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"firstName\": null}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void missingIfMatchIs428() throws Exception {
+        mockMvc.perform(patch("/api/v1/films/3").contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"X\"}"))
+                .andExpect(status().isPreconditionRequired());
+    }
+
+    @Test
+    void unknownFilmIs404() throws Exception {
+        mockMvc.perform(patch("/api/v1/films/32000").header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"X\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void staleIfMatchIs412() throws Exception {
+        String original = etagOf("/api/v1/films/4");
+        patchTitle("/api/v1/films/4", original, "FIRST WRITER");
+        mockMvc.perform(patch("/api/v1/films/4").header(HttpHeaders.IF_MATCH, original)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"SECOND WRITER\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void backToBackPatchesGetIncreasingVersionsAndPutDoesNotGoBack() throws Exception {
+        String etag = etagOf("/api/v1/films/2");
+        Instant previous = versionOf(etag);
+        for (int i = 0; i < 4; i++) {
+            String next = patchTitle("/api/v1/films/2", etag, "PATCHED " + i);
+            assertThat(versionOf(next)).isAfter(previous);
+            assertThat(etagOf("/api/v1/films/2")).isEqualTo(next);
+            previous = versionOf(next);
+            etag = next;
+        }
+
+        String body = "{\"title\": \"REPLACED\", \"languageId\": 1, \"rentalDuration\": 3, \"rentalRate\": 4.99, "
+                + "\"replacementCost\": 19.99, \"rating\": \"PG\"}";
+        String replaced = mockMvc.perform(put("/api/v1/films/2").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(versionOf(replaced)).isAfter(previous);
+
+        // An older tag must not match again after the PUT.
+        mockMvc.perform(patch("/api/v1/films/2").header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"LOST UPDATE\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void actorPatchesGetIncreasingVersions() throws Exception {
+        String etag = etagOf("/api/v1/actors/5");
+        String first = mockMvc.perform(patch("/api/v1/actors/5").header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"lastName\": \"ONE\"}"))
+                .andExpect(status().isNoContent())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String second = mockMvc.perform(patch("/api/v1/actors/5").header(HttpHeaders.IF_MATCH, first)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"lastName\": \"TWO\"}"))
+                .andExpect(status().isNoContent())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(versionOf(second)).isAfter(versionOf(first)).isAfter(versionOf(etag));
+        assertThat(etagOf("/api/v1/actors/5")).isEqualTo(second);
+    }
+
+    @Test
+    void patchIsOneUpdateAndOneSelect() throws Exception {
+        String etag = etagOf("/api/v1/films/8");
+        double before = statementsOf("FilmController.patchFilm");
+        etag = patchTitle("/api/v1/films/8", etag, "ONE ROUND TRIP");
+        assertThat(statementsOf("FilmController.patchFilm") - before).isEqualTo(2);
+
+        // Neither the search index nor the statistics need this column, so nothing is read back but the version.
+        before = statementsOf("FilmController.patchFilm");
+        mockMvc.perform(patch("/api/v1/films/8").header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"rentalDuration\": 6}"))
+                .andExpect(status().isNoContent());
+        assertThat(statementsOf("FilmController.patchFilm") - before).isEqualTo(2);
+
+        String actorTag = etagOf("/api/v1/actors/8");
+        before = statementsOf("ActorController.patchActor");
+        mockMvc.perform(patch("/api/v1/actors/8").header(HttpHeaders.IF_MATCH, actorTag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"lastName\": \"ROUNDTRIP\"}"))
+                .andExpect(status().isNoContent());
+        assertThat(statementsOf("ActorController.patchActor") - before).isEqualTo(2);
+    }
+
+    @Test
+    void patchedRatingIsCountedWithoutAQuery() throws Exception {
+        for (int i = 0; i < 100 && !filmStatistics.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        // Film 13 is rated R in the generated data.
+        String etag = etagOf("/api/v1/films/13");
+        FilmStatsVm before = filmStatistics.get();
+        mockMvc.perform(patch("/api/v1/films/13").header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"rating\": \"G\"}"))
+                .andExpect(status().isNoContent());
+
+        FilmStatsVm after = filmStatistics.get();
+        assertThat(after.getByRating().get("G")).isEqualTo(before.getByRating().get("G") + 1);
+        assertThat(after.getByRating().get("R")).isEqualTo(before.getByRating().get("R") - 1);
+        assertThat(after.getTotal()).isEqualTo(before.getTotal());
+    }
+}
@@ -0,0 +1,115 @@
+package com.core.hw1.datasource;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Each embedded database answers "which node am I", so the tests can see where a transaction was routed.
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private ReadYourWritesTracker tracker;
+    private DataSourceRoutingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = node("primary");
+        List<DataSource> replicas = List.of(node("replica-a"), node("replica-b"));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicas));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+
+        properties = new DataSourceRoutingProperties();
+        properties.setReadYourWritesWindow(Duration.ofMinutes(1));
+        tracker = new ReadYourWritesTracker(properties);
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToReplicasRoundRobin() {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(readOnly.execute(status -> whoAmI()));
+        }
+
+        assertThat(nodes).containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+    }
+
+    @Test
+    void routesReadWriteTransactionsAndNonTransactionalCallsToPrimary() {
+        String node = readWrite.execute(status -> whoAmI());
+
+        assertThat(node).isEqualTo("primary");
+        assertThat(whoAmI()).isEqualTo("primary");
+    }
+
+    @Test
+    void pinsClientToPrimaryAfterWrite() throws Exception {
+        List<String> nodes = new ArrayList<>();
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(tracker, properties);
+
+        // First request writes and then reads within the same request.
+        filter.doFilter(request("client-1"), new MockHttpServletResponse(), chain(() -> {
+            readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET hits = hits + 1"));
+            nodes.add(readOnly.execute(status -> whoAmI()));
+        }));
+        // A later request from the same client is still inside the window; another client is not.
+        filter.doFilter(request("client-1"), new MockHttpServletResponse(), chain(() -> nodes.add(readOnly.execute(status -> whoAmI()))));
+        filter.doFilter(request("client-2"), new MockHttpServletResponse(), chain(() -> nodes.add(readOnly.execute(status -> whoAmI()))));
+
+        assertThat(nodes).containsExactly("primary", "primary", "replica-a");
+        assertThat(tracker.isPinned("client-1")).isTrue();
+        assertThat(tracker.isPinned("client-2")).isFalse();
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource node(String name) {
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20), hits INT)");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node VALUES (?, 0)", name);
+        return dataSource;
+    }
+
+    private static MockHttpServletRequest request(String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/films");
+        request.addHeader("X-Client-Id", clientId);
+        return request;
+    }
+
+    private static MockFilterChain chain(Runnable work) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                work.run();
+            }
+        });
+    }
+}
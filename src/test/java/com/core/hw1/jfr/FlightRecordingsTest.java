@@ -0,0 +1,28 @@
+package com.core.hw1.jfr;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecordingsTest {
+
+    private final Map<String, String> settings =
+            new FlightRecordings(new FlightRecorderProperties(), new DefaultResourceLoader()).settings();
+
+    @Test
+    void environmentEventsAreOffEvenThoughTheDefaultsEnableThem() {
+        assertThat(settings).containsEntry("jdk.InitialEnvironmentVariable#enabled", "false")
+                .containsEntry("jdk.InitialSystemProperty#enabled", "false")
+                .containsEntry("jdk.JVMInformation#enabled", "false")
+                .containsEntry("jdk.SystemProcess#enabled", "false");
+    }
+
+    @Test
+    void applicationEventsAreOn() {
+        assertThat(settings).containsEntry("com.core.hw1.HttpRequest#enabled", "true")
+                .containsEntry("jdk.VirtualThreadPinned#threshold", "5 ms");
+    }
+}
@@ -0,0 +1,55 @@
+package com.core.hw1.model.converter;
+
+import com.core.hw1.enumeration.SpecialFeature;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpecialFeatureSetConverterTest {
+
+    private final SpecialFeatureSetConverter converter = new SpecialFeatureSetConverter();
+
+    @Test
+    void roundTripsEveryCombination() {
+        for (int mask = 0; mask < SpecialFeature.COMBINATIONS; mask++) {
+            Set<SpecialFeature> features = SpecialFeatureSetConverter.fromMask(mask);
+            String column = converter.convertToDatabaseColumn(features);
+
+            assertThat(converter.convertToEntityAttribute(column)).isEqualTo(features);
+            assertThat(SpecialFeatureSetConverter.toMask(features)).isEqualTo(mask);
+        }
+    }
+
+    @Test
+    void parsesColumnValuesInAnyOrderAndCase() {
+        assertThat(converter.convertToEntityAttribute("deleted scenes, Trailers"))
+                .containsExactly(SpecialFeature.TRAILERS, SpecialFeature.DELETED_SCENES);
+        assertThat(converter.convertToEntityAttribute("")).isEmpty();
+        assertThat(converter.convertToEntityAttribute(null)).isEmpty();
+        assertThatThrownBy(() -> converter.convertToEntityAttribute("Trailers,Bloopers"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void writesCanonicalSetOrder() {
+        assertThat(converter.convertToDatabaseColumn(EnumSet.of(SpecialFeature.BEHIND_THE_SCENES, SpecialFeature.TRAILERS)))
+                .isEqualTo("Trailers,Behind the Scenes");
+        assertThat(converter.convertToDatabaseColumn(Set.of())).isNull();
+    }
+
+    @Test
+    void matchesMasksWithRequiredAndWithoutExcludedFeatures() {
+        int trailers = SpecialFeature.TRAILERS.getMask();
+        int commentaries = SpecialFeature.COMMENTARIES.getMask();
+
+        assertThat(SpecialFeatureSetConverter.masksMatching(0, 0)).hasSize(SpecialFeature.COMBINATIONS);
+        assertThat(SpecialFeatureSetConverter.masksMatching(trailers, commentaries))
+                .hasSize(4)
+                .allMatch(mask -> (mask & trailers) != 0 && (mask & commentaries) == 0);
+        assertThat(SpecialFeatureSetConverter.masksMatching(trailers, trailers)).isEmpty();
+    }
+}